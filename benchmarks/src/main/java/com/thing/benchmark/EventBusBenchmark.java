@@ -0,0 +1,63 @@
+package com.thing.benchmark;
+
+import com.thing.benchmark.bean.AnnotatedSyntheticListener;
+import com.thing.benchmark.bean.SyntheticEvent;
+import com.thing.benchmark.bean.SyntheticListener;
+import com.thing.ioc.GenericApplicationContext;
+import com.thing.ioc.entity.BeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+    @Param({"1", "16", "256"})
+    private int listenerCount;
+
+    private GenericApplicationContext applicationContext;
+    private SyntheticEvent event;
+
+    @Setup
+    public void setUp() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        for (int i = 0; i < listenerCount; i++) {
+            String className = i % 2 == 0 ? SyntheticListener.class.getName() : AnnotatedSyntheticListener.class.getName();
+            beanDefinitions.add(createBeanDefinition("listener" + i, className));
+        }
+        applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        event = new SyntheticEvent(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public void publishSync() {
+        applicationContext.publishEvent(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishAsync() {
+        applicationContext.publishEventAsync(event);
+    }
+
+    private static BeanDefinition createBeanDefinition(String id, String className) {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId(id);
+        beanDefinition.setClassName(className);
+        beanDefinition.setValueDependencies(new HashMap<>());
+        beanDefinition.setRefDependencies(new HashMap<>());
+        return beanDefinition;
+    }
+}
@@ -0,0 +1,94 @@
+package com.thing.benchmark;
+
+import com.thing.ioc.ContextConfiguration;
+import com.thing.ioc.GenericApplicationContext;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.metrics.LookupMetrics;
+import com.thing.service.DefaultMailService;
+import com.thing.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetBeanBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int beanCount;
+
+    private GenericApplicationContext applicationContext;
+    private GenericApplicationContext measuredApplicationContext;
+    private GenericApplicationContext childApplicationContext;
+    private String lastBeanId;
+
+    @Setup
+    public void setUp() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        for (int i = 0; i < beanCount; i++) {
+            beanDefinitions.add(createBeanDefinition("mailService" + i, "com.thing.service.DefaultMailService"));
+        }
+        beanDefinitions.add(createBeanDefinition("userService", "com.thing.service.DefaultUserService"));
+
+        applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setLookupMetrics(new LookupMetrics());
+        measuredApplicationContext = new GenericApplicationContext(() -> beanDefinitions, configuration);
+        childApplicationContext = new GenericApplicationContext(applicationContext, () ->
+                Collections.singletonList(createBeanDefinition("childMailService", "com.thing.service.DefaultMailService")));
+        lastBeanId = "mailService" + (beanCount - 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        childApplicationContext.close();
+        measuredApplicationContext.close();
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Object getBeanById() {
+        return applicationContext.getBean(lastBeanId);
+    }
+
+    @Benchmark
+    public Object getBeanByIdWithMetrics() {
+        return measuredApplicationContext.getBean(lastBeanId);
+    }
+
+    @Benchmark
+    public Object getBeanByIdFromParent() {
+        return childApplicationContext.getBean(lastBeanId);
+    }
+
+    @Benchmark
+    public UserService getBeanByInterfaceFromParent() {
+        return childApplicationContext.getBean(UserService.class);
+    }
+
+    @Benchmark
+    public UserService getBeanByInterface() {
+        return applicationContext.getBean(UserService.class);
+    }
+
+    @Benchmark
+    public DefaultMailService getBeanByIdAndClass() {
+        return applicationContext.getBean(lastBeanId, DefaultMailService.class);
+    }
+
+    private static BeanDefinition createBeanDefinition(String id, String className) {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId(id);
+        beanDefinition.setClassName(className);
+        beanDefinition.setValueDependencies(new HashMap<>());
+        beanDefinition.setRefDependencies(new HashMap<>());
+        return beanDefinition;
+    }
+}
@@ -0,0 +1,69 @@
+package com.thing.benchmark;
+
+import com.thing.ioc.reflection.ClassMetadata;
+import com.thing.ioc.reflection.PropertySetter;
+import com.thing.service.DefaultMailService;
+import com.thing.service.DefaultUserService;
+import com.thing.service.MailService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstantiationBenchmark {
+    private Constructor<?> mailServiceConstructor;
+    private Constructor<?> userServiceConstructor;
+    private Method setPort;
+    private Method setProtocol;
+    private Method setMailService;
+
+    private ClassMetadata mailServiceMetadata;
+    private ClassMetadata userServiceMetadata;
+    private PropertySetter portSetter;
+    private PropertySetter protocolSetter;
+    private PropertySetter mailServiceSetter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        mailServiceConstructor = DefaultMailService.class.getConstructor();
+        userServiceConstructor = DefaultUserService.class.getConstructor();
+        setPort = DefaultMailService.class.getMethod("setPort", int.class);
+        setProtocol = DefaultMailService.class.getMethod("setProtocol", String.class);
+        setMailService = DefaultUserService.class.getMethod("setMailService", MailService.class);
+
+        mailServiceMetadata = ClassMetadata.forClass(DefaultMailService.class);
+        userServiceMetadata = ClassMetadata.forClass(DefaultUserService.class);
+        portSetter = mailServiceMetadata.getSetter("port");
+        protocolSetter = mailServiceMetadata.getSetter("protocol");
+        mailServiceSetter = userServiceMetadata.getSetter("mailService");
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        Object mailService = mailServiceConstructor.newInstance();
+        setPort.invoke(mailService, Integer.parseInt("1099"));
+        setProtocol.invoke(mailService, "POP3");
+
+        Object userService = userServiceConstructor.newInstance();
+        setMailService.invoke(userService, mailService);
+        return userService;
+    }
+
+    @Benchmark
+    public Object accessors() {
+        Object mailService = mailServiceMetadata.newInstance();
+        portSetter.injectValue(mailService, "1099");
+        protocolSetter.injectValue(mailService, "POP3");
+
+        Object userService = userServiceMetadata.newInstance();
+        mailServiceSetter.inject(userService, mailService);
+        return userService;
+    }
+}
@@ -0,0 +1,74 @@
+package com.thing.benchmark;
+
+import com.thing.benchmark.bean.SyntheticBean;
+import com.thing.benchmark.bean.SyntheticRoot;
+import com.thing.ioc.GenericApplicationContext;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.io.XmlBeanDefinitionReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LifecycleBenchmark {
+    @Param({"10", "1000", "10000"})
+    private int beanCount;
+
+    private String path;
+    private GenericApplicationContext applicationContext;
+    private String middleBeanId;
+
+    @Setup
+    public void setUp() {
+        Path contextPath = SyntheticContext.write(beanCount);
+        path = contextPath.toString();
+        applicationContext = new GenericApplicationContext(path);
+        middleBeanId = SyntheticContext.beanId(beanCount / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<BeanDefinition> parse() {
+        return new XmlBeanDefinitionReader(path).readBeanDefinitions();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<String> refresh() {
+        GenericApplicationContext applicationContext = new GenericApplicationContext(path);
+        try {
+            return applicationContext.getBeanNames();
+        } finally {
+            applicationContext.close();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object getBeanById() {
+        return applicationContext.getBean(middleBeanId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public SyntheticRoot getBeanByType() {
+        return applicationContext.getBean(SyntheticRoot.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public SyntheticBean getBeanByIdAndType() {
+        return applicationContext.getBean(middleBeanId, SyntheticBean.class);
+    }
+}
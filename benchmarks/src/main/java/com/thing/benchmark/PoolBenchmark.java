@@ -0,0 +1,73 @@
+package com.thing.benchmark;
+
+import com.thing.ioc.GenericApplicationContext;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.service.DefaultMailService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolBenchmark {
+    private static final int POOL_SIZE = 64;
+
+    private GenericApplicationContext applicationContext;
+
+    @Setup
+    public void setUp() {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId("mailService");
+        beanDefinition.setClassName("com.thing.service.DefaultMailService");
+        beanDefinition.setValueDependencies(new HashMap<>());
+        beanDefinition.setRefDependencies(new HashMap<>());
+        beanDefinition.setScope(BeanDefinition.SCOPE_POOLED);
+        beanDefinition.setPoolMinSize(POOL_SIZE);
+        beanDefinition.setPoolMaxSize(POOL_SIZE);
+        applicationContext = new GenericApplicationContext(() -> Collections.singletonList(beanDefinition));
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int borrowAndReturnOneThread() {
+        return borrowAndReturn();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int borrowAndReturnFourThreads() {
+        return borrowAndReturn();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int borrowAndReturnEightThreads() {
+        return borrowAndReturn();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int withBeanEightThreads() {
+        return applicationContext.withBean("mailService", DefaultMailService.class, DefaultMailService::getPort);
+    }
+
+    private int borrowAndReturn() {
+        DefaultMailService mailService = applicationContext.borrowBean("mailService", DefaultMailService.class);
+        try {
+            return mailService.getPort();
+        } finally {
+            applicationContext.returnBean("mailService", mailService);
+        }
+    }
+}
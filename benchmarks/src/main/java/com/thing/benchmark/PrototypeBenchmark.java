@@ -0,0 +1,67 @@
+package com.thing.benchmark;
+
+import com.thing.benchmark.bean.SyntheticBean;
+import com.thing.ioc.GenericApplicationContext;
+import com.thing.ioc.entity.BeanDefinition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeBenchmark {
+    private GenericApplicationContext applicationContext;
+
+    @Setup
+    public void setUp() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(createBeanDefinition("shared", BeanDefinition.SCOPE_SINGLETON, null));
+        beanDefinitions.add(createBeanDefinition("leaf", BeanDefinition.SCOPE_PROTOTYPE, "shared"));
+        beanDefinitions.add(createBeanDefinition("root", BeanDefinition.SCOPE_PROTOTYPE, "leaf"));
+        applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Object createPrototype() {
+        return applicationContext.getBean("leaf");
+    }
+
+    @Benchmark
+    public Object createPrototypeWithPrototypeRef() {
+        return applicationContext.getBean("root");
+    }
+
+    private static BeanDefinition createBeanDefinition(String id, String scope, String ref) {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId(id);
+        beanDefinition.setClassName(SyntheticBean.class.getName());
+        beanDefinition.setScope(scope);
+
+        Map<String, String> valueDependencies = new HashMap<>();
+        valueDependencies.put("name", id);
+        valueDependencies.put("count", "42");
+        valueDependencies.put("timeout", "30000");
+        valueDependencies.put("enabled", "true");
+        beanDefinition.setValueDependencies(valueDependencies);
+
+        Map<String, String> refDependencies = new HashMap<>();
+        if (ref != null) {
+            refDependencies.put("first", ref);
+        }
+        beanDefinition.setRefDependencies(refDependencies);
+        return beanDefinition;
+    }
+}
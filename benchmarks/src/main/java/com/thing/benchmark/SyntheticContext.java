@@ -0,0 +1,66 @@
+package com.thing.benchmark;
+
+import com.thing.benchmark.bean.SyntheticBean;
+import com.thing.benchmark.bean.SyntheticRoot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SyntheticContext {
+    public static final String ROOT_ID = "root";
+
+    public static String beanId(int index) {
+        return "bean" + index;
+    }
+
+    public static Path write(int beanCount) {
+        try {
+            Path path = Files.createTempFile("synthetic-context-" + beanCount + "-", ".xml");
+            path.toFile().deleteOnExit();
+            write(path, beanCount);
+            return path;
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Write synthetic context failed", e);
+        }
+    }
+
+    public static void write(Path path, int beanCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("<beans>\n");
+            for (int i = 0; i < beanCount; i++) {
+                writer.write("    <bean id=\"" + beanId(i) + "\" class=\"" + SyntheticBean.class.getName() + "\">\n");
+                writeValue(writer, "name", beanId(i));
+                if (i % 2 == 0) {
+                    writeValue(writer, "count", String.valueOf(i));
+                }
+                if (i % 3 == 0) {
+                    writeValue(writer, "timeout", String.valueOf(i * 1000L));
+                    writeValue(writer, "enabled", "true");
+                }
+                if (i > 0) {
+                    writeRef(writer, "first", beanId(i - 1));
+                }
+                if (i > 1 && i % 2 == 1) {
+                    writeRef(writer, "second", beanId(i / 2));
+                }
+                writer.write("    </bean>\n");
+            }
+            writer.write("    <bean id=\"" + ROOT_ID + "\" class=\"" + SyntheticRoot.class.getName() + "\">\n");
+            writeRef(writer, "head", beanId(beanCount - 1));
+            writer.write("    </bean>\n");
+            writer.write("</beans>\n");
+        }
+    }
+
+    private static void writeValue(BufferedWriter writer, String name, String value) throws IOException {
+        writer.write("        <property name=\"" + name + "\" value=\"" + value + "\"/>\n");
+    }
+
+    private static void writeRef(BufferedWriter writer, String name, String ref) throws IOException {
+        writer.write("        <property name=\"" + name + "\" ref=\"" + ref + "\"/>\n");
+    }
+}
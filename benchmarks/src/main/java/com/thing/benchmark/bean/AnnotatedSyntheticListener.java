@@ -0,0 +1,16 @@
+package com.thing.benchmark.bean;
+
+import com.thing.annotation.EventListener;
+
+public class AnnotatedSyntheticListener {
+    private long count;
+
+    @EventListener
+    public void onSyntheticEvent(SyntheticEvent event) {
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
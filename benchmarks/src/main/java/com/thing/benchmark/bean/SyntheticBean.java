@@ -0,0 +1,70 @@
+package com.thing.benchmark.bean;
+
+import com.thing.annotation.PostConstruct;
+
+public class SyntheticBean {
+    private String name;
+    private int count;
+    private long timeout;
+    private boolean enabled;
+    private SyntheticBean first;
+    private SyntheticBean second;
+    private boolean initialized;
+
+    @PostConstruct
+    public void init() {
+        initialized = true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public SyntheticBean getFirst() {
+        return first;
+    }
+
+    public void setFirst(SyntheticBean first) {
+        this.first = first;
+    }
+
+    public SyntheticBean getSecond() {
+        return second;
+    }
+
+    public void setSecond(SyntheticBean second) {
+        this.second = second;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+}
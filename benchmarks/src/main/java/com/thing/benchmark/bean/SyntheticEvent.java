@@ -0,0 +1,13 @@
+package com.thing.benchmark.bean;
+
+public class SyntheticEvent {
+    private final long sequence;
+
+    public SyntheticEvent(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,16 @@
+package com.thing.benchmark.bean;
+
+import com.thing.ioc.event.ApplicationListener;
+
+public class SyntheticListener implements ApplicationListener<SyntheticEvent> {
+    private long sum;
+
+    @Override
+    public void onEvent(SyntheticEvent event) {
+        sum += event.getSequence();
+    }
+
+    public long getSum() {
+        return sum;
+    }
+}
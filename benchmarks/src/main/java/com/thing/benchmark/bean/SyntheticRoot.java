@@ -0,0 +1,13 @@
+package com.thing.benchmark.bean;
+
+public class SyntheticRoot {
+    private SyntheticBean head;
+
+    public SyntheticBean getHead() {
+        return head;
+    }
+
+    public void setHead(SyntheticBean head) {
+        this.head = head;
+    }
+}
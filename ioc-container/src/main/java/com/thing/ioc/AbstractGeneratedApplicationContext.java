@@ -0,0 +1,109 @@
+package com.thing.ioc;
+
+import com.thing.ioc.reflection.ClassMetadata;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+public abstract class AbstractGeneratedApplicationContext implements ApplicationContext {
+    private final Map<String, Object> beansById = new HashMap<>();
+    private final Map<Class<?>, List<Object>> beansByType = new HashMap<>();
+    private final List<String> beanNames = new ArrayList<>();
+    private final List<Object> registrationOrder = new ArrayList<>();
+    private List<String> destroyOrder = Collections.emptyList();
+
+    protected void register(String id, Object value, boolean system, Class<?>... types) {
+        if (beansById.putIfAbsent(id, value) != null) {
+            return;
+        }
+        registrationOrder.add(value);
+        if (!system) {
+            beanNames.add(id);
+        }
+        for (Class<?> type : types) {
+            beansByType.computeIfAbsent(type, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    protected void setDestroyOrder(String... ids) {
+        destroyOrder = Arrays.asList(ids);
+    }
+
+    @Override
+    public Object getBean(String beanId) {
+        Object value = beansById.get(beanId);
+        if (value == null) {
+            throw new NoSuchBeanException("No bean found for id: " + beanId);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T getBean(Class<T> clazz) {
+        List<Object> candidates = beansByType.getOrDefault(clazz, Collections.emptyList());
+
+        if (candidates.size() > 1) {
+            throw new RuntimeException("More than one bean found with class: " + clazz.getName() + ", try getBean(String beanId).");
+        }
+
+        if (candidates.isEmpty()) {
+            throw new NoSuchBeanException("No bean found with class: " + clazz.getName());
+        }
+
+        return clazz.cast(candidates.get(0));
+    }
+
+    @Override
+    public <T> T getBean(String id, Class<T> clazz) {
+        Object value = getBean(id);
+        if (!clazz.isInstance(value)) {
+            throw new RuntimeException("Bean with id:" + id + " has different class than: " + clazz.getName());
+        }
+        return clazz.cast(value);
+    }
+
+    @Override
+    public List<String> getBeanNames() {
+        return Collections.unmodifiableList(beanNames);
+    }
+
+    @Override
+    public synchronized void close() {
+        List<Object> values = new ArrayList<>(registrationOrder.size());
+        Set<Object> orderedValues = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String id : destroyOrder) {
+            Object value = beansById.get(id);
+            if (value != null && orderedValues.add(value)) {
+                values.add(value);
+            }
+        }
+        for (int i = registrationOrder.size() - 1; i >= 0; i--) {
+            if (orderedValues.add(registrationOrder.get(i))) {
+                values.add(registrationOrder.get(i));
+            }
+        }
+
+        RuntimeException failure = null;
+        for (Object value : values) {
+            for (Consumer<Object> preDestroyInvoker : ClassMetadata.forClass(value.getClass()).getPreDestroyInvokers()) {
+                try {
+                    preDestroyInvoker.accept(value);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    if (failure == null) {
+                        failure = new RuntimeException("Destroy beans failed", e);
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+        registrationOrder.clear();
+        beansById.clear();
+        beansByType.clear();
+        beanNames.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
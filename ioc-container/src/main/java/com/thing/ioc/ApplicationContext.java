@@ -2,7 +2,7 @@ package com.thing.ioc;
 
 import java.util.List;
 
-public interface ApplicationContext {
+public interface ApplicationContext extends AutoCloseable {
     Object getBean(String beanId);
 
     <T> T getBean(Class<T> clazz);
@@ -10,4 +10,7 @@ public interface ApplicationContext {
     <T> T getBean(String id, Class<T> clazz);
 
     List<String> getBeanNames();
+
+    @Override
+    void close();
 }
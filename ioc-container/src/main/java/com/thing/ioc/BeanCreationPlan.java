@@ -0,0 +1,195 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.BeanProvider;
+import com.thing.ioc.entity.ConstructorArgument;
+import com.thing.ioc.reflection.BeanConstructor;
+import com.thing.ioc.reflection.ClassMetadata;
+import com.thing.ioc.reflection.PropertySetter;
+import com.thing.ioc.reflection.ValueConverters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class BeanCreationPlan {
+    private final BeanDefinition beanDefinition;
+    private final ClassMetadata metadata;
+    private final PropertySetter[] valueSetters;
+    private final Object[] values;
+    private final PropertySetter[] refSetters;
+    private final String[] refIds;
+    private final boolean[] lazyRefs;
+    private final BeanProvider[] refProviders;
+    private final ConstructorArgument[] constructorArguments;
+    private final BeanProvider[] constructorRefProviders;
+    private Object[] constructorValues;
+    private volatile BeanConstructor constructor;
+
+    public BeanCreationPlan(BeanDefinition beanDefinition, Class<?> type) {
+        this.beanDefinition = beanDefinition;
+        this.metadata = ClassMetadata.forClass(type);
+
+        List<PropertySetter> valueSetters = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (Map.Entry<String, String> entry : beanDefinition.getValueDependencies().entrySet()) {
+            PropertySetter setter = metadata.getSetter(entry.getKey());
+            if (setter != null) {
+                valueSetters.add(setter);
+                values.add(setter.convert(entry.getValue()));
+            }
+        }
+        this.valueSetters = valueSetters.toArray(new PropertySetter[0]);
+        this.values = values.toArray();
+
+        List<PropertySetter> refSetters = new ArrayList<>();
+        List<String> refIds = new ArrayList<>();
+        List<Boolean> lazyRefs = new ArrayList<>();
+        for (Map.Entry<String, String> entry : beanDefinition.getRefDependencies().entrySet()) {
+            PropertySetter setter = metadata.getSetter(entry.getKey());
+            if (setter != null) {
+                refSetters.add(setter);
+                refIds.add(entry.getValue());
+                lazyRefs.add(beanDefinition.isLazyRef(entry.getKey()));
+            }
+        }
+        this.refSetters = refSetters.toArray(new PropertySetter[0]);
+        this.refIds = refIds.toArray(new String[0]);
+        this.lazyRefs = new boolean[this.refIds.length];
+        for (int i = 0; i < this.lazyRefs.length; i++) {
+            this.lazyRefs[i] = lazyRefs.get(i);
+        }
+        this.refProviders = new BeanProvider[this.refIds.length];
+
+        this.constructorArguments = orderConstructorArguments(beanDefinition);
+        this.constructorRefProviders = new BeanProvider[constructorArguments.length];
+    }
+
+    static ConstructorArgument[] orderConstructorArguments(BeanDefinition beanDefinition) {
+        if (!beanDefinition.hasConstructorArguments()) {
+            return new ConstructorArgument[0];
+        }
+        List<ConstructorArgument> arguments = beanDefinition.getConstructorArguments();
+        ConstructorArgument[] orderedArguments = new ConstructorArgument[arguments.size()];
+        for (ConstructorArgument argument : arguments) {
+            Integer index = argument.getIndex();
+            if (index != null) {
+                if (index < 0 || index >= orderedArguments.length || orderedArguments[index] != null) {
+                    throw new RuntimeException("Invalid constructor-arg index " + index + " for bean: " + beanDefinition.getId());
+                }
+                orderedArguments[index] = argument;
+            }
+        }
+        int position = 0;
+        for (ConstructorArgument argument : arguments) {
+            if (argument.getIndex() == null) {
+                while (orderedArguments[position] != null) {
+                    position++;
+                }
+                orderedArguments[position] = argument;
+            }
+        }
+        for (ConstructorArgument argument : orderedArguments) {
+            if (argument.getValue() == null && argument.getRef() == null) {
+                throw new RuntimeException("Constructor-arg without value or ref for bean: " + beanDefinition.getId());
+            }
+        }
+        return orderedArguments;
+    }
+
+    public String getId() {
+        return beanDefinition.getId();
+    }
+
+    public BeanDefinition getBeanDefinition() {
+        return beanDefinition;
+    }
+
+    public Class<?> getType() {
+        return metadata.getType();
+    }
+
+    public Object instantiate(Function<String, BeanProvider> refResolver) {
+        if (constructorArguments.length == 0) {
+            return metadata.newInstance();
+        }
+
+        for (int i = 0; i < constructorArguments.length; i++) {
+            String ref = constructorArguments[i].getRef();
+            if (ref != null && constructorRefProviders[i] == null) {
+                BeanProvider refProvider = refResolver.apply(ref);
+                if (refProvider == null) {
+                    throw new RuntimeException("No bean found for constructor-arg ref: " + ref + " of bean: " + getId());
+                }
+                constructorRefProviders[i] = refProvider;
+            }
+        }
+
+        BeanConstructor constructor = getConstructor();
+        Object[] arguments = new Object[constructorArguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = constructorRefProviders[i] == null
+                    ? ValueConverters.copyIfMutable(constructorValues[i])
+                    : constructorRefProviders[i].getValue();
+        }
+        return constructor.newInstance(arguments);
+    }
+
+    private BeanConstructor getConstructor() {
+        BeanConstructor constructor = this.constructor;
+        if (constructor == null) {
+            String[] typeNames = new String[constructorArguments.length];
+            Class<?>[] argumentTypes = new Class<?>[constructorArguments.length];
+            for (int i = 0; i < constructorArguments.length; i++) {
+                typeNames[i] = constructorArguments[i].getType();
+                if (constructorRefProviders[i] != null) {
+                    argumentTypes[i] = constructorRefProviders[i].getType();
+                }
+            }
+            constructor = metadata.resolveConstructor(typeNames, argumentTypes);
+
+            Object[] constructorValues = new Object[constructorArguments.length];
+            for (int i = 0; i < constructorArguments.length; i++) {
+                if (constructorRefProviders[i] == null) {
+                    constructorValues[i] = constructor.convert(i, constructorArguments[i].getValue());
+                }
+            }
+            this.constructorValues = constructorValues;
+            this.constructor = constructor;
+        }
+        return constructor;
+    }
+
+    public void injectValues(Object value) {
+        for (int i = 0; i < valueSetters.length; i++) {
+            valueSetters[i].injectConverted(value, ValueConverters.copyIfMutable(values[i]));
+        }
+    }
+
+    public void injectRefs(Object value, Function<String, BeanProvider> refResolver) {
+        for (int i = 0; i < refSetters.length; i++) {
+            if (lazyRefs[i]) {
+                refSetters[i].inject(value, LazyReference.createProxy(refSetters[i].getType(), refIds[i], refResolver));
+                continue;
+            }
+            BeanProvider refProvider = refProviders[i];
+            if (refProvider == null) {
+                refProvider = refResolver.apply(refIds[i]);
+                if (refProvider == null) {
+                    throw new RuntimeException("No bean found for ref: " + refIds[i] + " of bean: " + getId());
+                }
+                refProviders[i] = refProvider;
+            }
+            refSetters[i].inject(value, refProvider.getValue());
+        }
+    }
+
+    public void runPostConstructMethods(Object value) {
+        ClassMetadata valueMetadata = value.getClass() == metadata.getType() ? metadata : ClassMetadata.forClass(value.getClass());
+        for (Consumer<Object> postConstructInvoker : valueMetadata.getPostConstructInvokers()) {
+            postConstructInvoker.accept(value);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.thing.ioc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+public class BeanDefinitionWatcher implements Closeable {
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private final GenericApplicationContext applicationContext;
+    private final Set<Path> files = new HashSet<>();
+    private final WatchService watchService;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public BeanDefinitionWatcher(GenericApplicationContext applicationContext, String... paths) {
+        this.applicationContext = applicationContext;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> directories = new HashSet<>();
+            for (String path : paths) {
+                Path file = Paths.get(path).toAbsolutePath().normalize();
+                files.add(file);
+                directories.add(file.getParent());
+            }
+            for (Path directory : directories) {
+                directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Watch bean definitions failed", e);
+        }
+        thread = new Thread(this::watch, "bean-definition-watcher");
+        thread.setDaemon(true);
+    }
+
+    public BeanDefinitionWatcher start() {
+        thread.start();
+        return this;
+    }
+
+    private void watch() {
+        try {
+            while (!closed) {
+                boolean changed = pollChanges(watchService.take());
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= pollChanges(key);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // watcher closed
+        }
+    }
+
+    private boolean pollChanges(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            changed |= event.kind() == OVERFLOW || files.contains(directory.resolve((Path) event.context()));
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        try {
+            applicationContext.reload();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Close bean definition watcher failed", e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.Bean;
+import com.thing.ioc.entity.BeanProvider;
+import com.thing.ioc.reflection.ClassMetadata;
+
+import java.util.*;
+
+public final class BeanRegistry {
+    private final Map<String, BeanProvider> beansById;
+    private final Map<Class<?>, List<BeanProvider>> beansByType;
+    private final List<String> beanNames;
+
+    public BeanRegistry(List<? extends BeanProvider> beans) {
+        Map<String, BeanProvider> beansById = new HashMap<>();
+        Map<Class<?>, List<BeanProvider>> beansByType = new HashMap<>();
+        List<String> beanNames = new ArrayList<>();
+        for (BeanProvider bean : beans) {
+            if (beansById.containsKey(bean.getId())) {
+                continue;
+            }
+            BeanProvider snapshot = bean instanceof Bean
+                    ? new SingletonBean(bean.getId(), bean.getValue(), bean.isSystem())
+                    : bean;
+            beansById.put(bean.getId(), snapshot);
+            if (!bean.isSystem()) {
+                beanNames.add(bean.getId());
+            }
+            for (Class<?> type : ClassMetadata.forClass(snapshot.getType()).getAssignableTypes()) {
+                beansByType.computeIfAbsent(type, key -> new ArrayList<>(1)).add(snapshot);
+            }
+        }
+        for (Map.Entry<Class<?>, List<BeanProvider>> entry : beansByType.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+
+        this.beansById = beansById;
+        this.beansByType = beansByType;
+        this.beanNames = Collections.unmodifiableList(beanNames);
+    }
+
+    public BeanProvider getBean(String id) {
+        return beansById.get(id);
+    }
+
+    public List<BeanProvider> getBeans(Class<?> type) {
+        List<BeanProvider> beans = beansByType.get(type);
+        return beans == null ? Collections.<BeanProvider>emptyList() : beans;
+    }
+
+    public List<String> getBeanNames() {
+        return beanNames;
+    }
+}
@@ -0,0 +1,8 @@
+package com.thing.ioc;
+
+public enum BeanStatus {
+    PENDING,
+    INITIALIZING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,102 @@
+package com.thing.ioc;
+
+import com.thing.ioc.event.EventBus;
+import com.thing.ioc.metrics.LookupMetrics;
+import com.thing.ioc.startup.StartupListener;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+public class ContextConfiguration {
+    private Executor refreshExecutor;
+    private Executor initializationExecutor = ForkJoinPool.commonPool();
+    private Executor destroyExecutor = ForkJoinPool.commonPool();
+    private Duration destroyTimeout = Duration.ofSeconds(30);
+    private Duration poolBorrowTimeout = Duration.ofSeconds(30);
+    private int eventQueueCapacity = EventBus.DEFAULT_QUEUE_CAPACITY;
+    private int eventBatchSize = EventBus.DEFAULT_BATCH_SIZE;
+    private boolean defaultLazyInit;
+    private StartupListener startupListener;
+    private LookupMetrics lookupMetrics;
+
+    public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public Executor getInitializationExecutor() {
+        return initializationExecutor;
+    }
+
+    public void setInitializationExecutor(Executor initializationExecutor) {
+        this.initializationExecutor = initializationExecutor;
+    }
+
+    public Executor getDestroyExecutor() {
+        return destroyExecutor;
+    }
+
+    public void setDestroyExecutor(Executor destroyExecutor) {
+        this.destroyExecutor = destroyExecutor;
+    }
+
+    public Duration getDestroyTimeout() {
+        return destroyTimeout;
+    }
+
+    public void setDestroyTimeout(Duration destroyTimeout) {
+        this.destroyTimeout = destroyTimeout;
+    }
+
+    public Duration getPoolBorrowTimeout() {
+        return poolBorrowTimeout;
+    }
+
+    public void setPoolBorrowTimeout(Duration poolBorrowTimeout) {
+        this.poolBorrowTimeout = poolBorrowTimeout;
+    }
+
+    public int getEventQueueCapacity() {
+        return eventQueueCapacity;
+    }
+
+    public void setEventQueueCapacity(int eventQueueCapacity) {
+        this.eventQueueCapacity = eventQueueCapacity;
+    }
+
+    public int getEventBatchSize() {
+        return eventBatchSize;
+    }
+
+    public void setEventBatchSize(int eventBatchSize) {
+        this.eventBatchSize = eventBatchSize;
+    }
+
+    public boolean isDefaultLazyInit() {
+        return defaultLazyInit;
+    }
+
+    public void setDefaultLazyInit(boolean defaultLazyInit) {
+        this.defaultLazyInit = defaultLazyInit;
+    }
+
+    public StartupListener getStartupListener() {
+        return startupListener;
+    }
+
+    public void setStartupListener(StartupListener startupListener) {
+        this.startupListener = startupListener;
+    }
+
+    public LookupMetrics getLookupMetrics() {
+        return lookupMetrics;
+    }
+
+    public void setLookupMetrics(LookupMetrics lookupMetrics) {
+        this.lookupMetrics = lookupMetrics;
+    }
+}
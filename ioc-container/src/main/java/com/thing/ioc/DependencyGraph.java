@@ -0,0 +1,157 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.ConstructorArgument;
+
+import java.util.*;
+
+public class DependencyGraph {
+    private final Map<String, BeanDefinition> definitionsById = new LinkedHashMap<>();
+    private final Map<String, List<String>> dependencies = new HashMap<>();
+
+    public DependencyGraph(List<BeanDefinition> beanDefinitions) {
+        this(beanDefinitions, false);
+    }
+
+    public DependencyGraph(List<BeanDefinition> beanDefinitions, boolean includeLazyRefs) {
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            definitionsById.putIfAbsent(beanDefinition.getId(), beanDefinition);
+        }
+        for (BeanDefinition beanDefinition : definitionsById.values()) {
+            List<String> beanDependencies = new ArrayList<>();
+            Map<String, String> refDependencies = beanDefinition.getRefDependencies();
+            if (refDependencies != null) {
+                for (Map.Entry<String, String> entry : refDependencies.entrySet()) {
+                    if (includeLazyRefs || !beanDefinition.isLazyRef(entry.getKey())) {
+                        addDependency(beanDependencies, entry.getValue());
+                    }
+                }
+            }
+            if (beanDefinition.hasConstructorArguments()) {
+                for (ConstructorArgument constructorArgument : beanDefinition.getConstructorArguments()) {
+                    if (constructorArgument.getRef() != null) {
+                        addDependency(beanDependencies, constructorArgument.getRef());
+                    }
+                }
+            }
+            dependencies.put(beanDefinition.getId(), beanDependencies);
+        }
+    }
+
+    private void addDependency(List<String> beanDependencies, String ref) {
+        if (definitionsById.containsKey(ref) && !beanDependencies.contains(ref)) {
+            beanDependencies.add(ref);
+        }
+    }
+
+    public List<String> getDependencies(String id) {
+        List<String> beanDependencies = dependencies.get(id);
+        return beanDependencies == null ? Collections.<String>emptyList() : beanDependencies;
+    }
+
+    public List<BeanDefinition> getTopologicalOrder() {
+        List<BeanDefinition> order = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        for (String root : definitionsById.keySet()) {
+            if (visited.contains(root)) {
+                continue;
+            }
+            LinkedHashSet<String> path = new LinkedHashSet<>();
+            Deque<Iterator<String>> pendingDependencies = new ArrayDeque<>();
+            Deque<String> ids = new ArrayDeque<>();
+            path.add(root);
+            ids.push(root);
+            pendingDependencies.push(getDependencies(root).iterator());
+            while (!ids.isEmpty()) {
+                Iterator<String> dependencies = pendingDependencies.peek();
+                if (dependencies.hasNext()) {
+                    String dependency = dependencies.next();
+                    if (visited.contains(dependency)) {
+                        continue;
+                    }
+                    if (!path.add(dependency)) {
+                        throw new RuntimeException("Circular reference detected: " + describeCycle(path, dependency));
+                    }
+                    ids.push(dependency);
+                    pendingDependencies.push(getDependencies(dependency).iterator());
+                } else {
+                    String id = ids.pop();
+                    pendingDependencies.pop();
+                    path.remove(id);
+                    visited.add(id);
+                    order.add(definitionsById.get(id));
+                }
+            }
+        }
+        return order;
+    }
+
+    public List<List<String>> getCycles() {
+        Map<String, Integer> indexes = new HashMap<>();
+        Map<String, Integer> lowLinks = new HashMap<>();
+        Deque<String> componentStack = new ArrayDeque<>();
+        Set<String> onComponentStack = new HashSet<>();
+        List<List<String>> cycles = new ArrayList<>();
+        for (String root : definitionsById.keySet()) {
+            if (indexes.containsKey(root)) {
+                continue;
+            }
+            Deque<String> path = new ArrayDeque<>();
+            Deque<Iterator<String>> pendingDependencies = new ArrayDeque<>();
+            String next = root;
+            while (next != null || !path.isEmpty()) {
+                if (next != null) {
+                    indexes.put(next, indexes.size());
+                    lowLinks.put(next, indexes.get(next));
+                    componentStack.push(next);
+                    onComponentStack.add(next);
+                    path.push(next);
+                    pendingDependencies.push(getDependencies(next).iterator());
+                    next = null;
+                    continue;
+                }
+                String id = path.peek();
+                Iterator<String> dependencies = pendingDependencies.peek();
+                if (dependencies.hasNext()) {
+                    String dependency = dependencies.next();
+                    if (!indexes.containsKey(dependency)) {
+                        next = dependency;
+                    } else if (onComponentStack.contains(dependency)) {
+                        lowLinks.put(id, Math.min(lowLinks.get(id), indexes.get(dependency)));
+                    }
+                    continue;
+                }
+                path.pop();
+                pendingDependencies.pop();
+                if (!path.isEmpty()) {
+                    lowLinks.put(path.peek(), Math.min(lowLinks.get(path.peek()), lowLinks.get(id)));
+                }
+                if (lowLinks.get(id).equals(indexes.get(id))) {
+                    List<String> component = new ArrayList<>();
+                    String member;
+                    do {
+                        member = componentStack.pop();
+                        onComponentStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(id));
+                    if (component.size() > 1 || getDependencies(id).contains(id)) {
+                        cycles.add(component);
+                    }
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private String describeCycle(LinkedHashSet<String> path, String id) {
+        StringBuilder cycle = new StringBuilder();
+        boolean inCycle = false;
+        for (String pathId : path) {
+            inCycle = inCycle || pathId.equals(id);
+            if (inCycle) {
+                cycle.append(pathId).append(" -> ");
+            }
+        }
+        return cycle.append(id).toString();
+    }
+}
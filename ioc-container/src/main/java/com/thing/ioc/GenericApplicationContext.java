@@ -0,0 +1,1472 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.Bean;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.BeanProvider;
+import com.thing.ioc.entity.ConstructorArgument;
+import com.thing.ioc.event.ApplicationEventPublisher;
+import com.thing.ioc.event.ApplicationEventPublisherAware;
+import com.thing.ioc.event.EventBus;
+import com.thing.ioc.io.BeanDefinitionReader;
+import com.thing.ioc.io.XmlBeanDefinitionReader;
+import com.thing.ioc.metrics.LookupMetrics;
+import com.thing.ioc.metrics.PoolMetrics;
+import com.thing.ioc.reflection.ClassMetadata;
+import com.thing.ioc.reflection.PropertySetter;
+import com.thing.ioc.reflection.ValueConverters;
+import com.thing.processor.BeanFactoryPostProcessor;
+import com.thing.processor.BeanPostProcessor;
+import com.thing.processor.Ordered;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class GenericApplicationContext implements ApplicationContext, ApplicationEventPublisher {
+    private static final Consumer<Object> NO_EARLY_VALUE = value -> {
+    };
+
+    private final GenericApplicationContext parent;
+    private final List<GenericApplicationContext> children = new CopyOnWriteArrayList<>();
+    private final BeanDefinitionReader beanDefinitionReader;
+    private final ContextConfiguration configuration;
+    private List<BeanDefinition> beanDefinitions;
+    private volatile Map<String, BeanProvider> deferredBeans = new HashMap<>();
+    private List<Bean> beans;
+    private volatile Map<String, Bean> singletonBeans = Collections.emptyMap();
+    private volatile PostProcessorPipeline postProcessors = PostProcessorPipeline.EMPTY;
+    private volatile BeanRegistry beanRegistry;
+    private volatile Function<String, BeanProvider> creatingRefResolver;
+    private volatile StartupTracker startupTracker = StartupTracker.DISABLED;
+    private final LookupMetrics lookupMetrics;
+    private final EventBus eventBus;
+    private final Map<String, CompletableFuture<Void>> initializationFutures = new ConcurrentHashMap<>();
+    private final Map<IdentityKey, PooledBean> borrowedBeans = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private ScheduledExecutorService poolEvictionScheduler;
+
+    public GenericApplicationContext(String... paths) {
+        this(new XmlBeanDefinitionReader(paths));
+    }
+
+    public GenericApplicationContext(BeanDefinitionReader beanDefinitionReader) {
+        this(beanDefinitionReader, new ContextConfiguration());
+    }
+
+    public GenericApplicationContext(BeanDefinitionReader beanDefinitionReader, ContextConfiguration configuration) {
+        this(null, beanDefinitionReader, configuration);
+    }
+
+    public GenericApplicationContext(GenericApplicationContext parent, BeanDefinitionReader beanDefinitionReader) {
+        this(parent, beanDefinitionReader, new ContextConfiguration());
+    }
+
+    public GenericApplicationContext(GenericApplicationContext parent, BeanDefinitionReader beanDefinitionReader,
+                                     ContextConfiguration configuration) {
+        this.parent = parent;
+        this.beanDefinitionReader = beanDefinitionReader;
+        this.configuration = configuration;
+        lookupMetrics = configuration.getLookupMetrics();
+        eventBus = new EventBus(configuration.getEventQueueCapacity(), configuration.getEventBatchSize());
+        startupTracker = new StartupTracker(configuration.getStartupListener());
+        try {
+            startupTracker.run("refresh", null, this::refresh);
+        } finally {
+            startupTracker = StartupTracker.DISABLED;
+        }
+        if (parent != null) {
+            parent.children.add(this);
+        }
+    }
+
+    private void refresh() {
+        List<BeanDefinition> beanDefinitions = startupTracker.call("readBeanDefinitions", null,
+                () -> beanDefinitionReader.readBeanDefinitions(this::preloadClass));
+        runPhase("runBeanFactoryPostProcessors", () -> runBeanFactoryPostProcessors(beanDefinitions));
+        this.beanDefinitions = beanDefinitions;
+
+        List<BeanDefinition> eagerDefinitions = new ArrayList<>();
+        Map<String, Object> creationLocks = getCreationLocks(beanDefinitions);
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            BeanProvider deferredBean = createDeferredBean(beanDefinition, this::findBeanProvider, () -> postProcessors,
+                    creationLocks.get(beanDefinition.getId()));
+            if (deferredBean == null) {
+                eagerDefinitions.add(beanDefinition);
+            } else {
+                deferredBeans.put(beanDefinition.getId(), deferredBean);
+            }
+        }
+
+        if (configuration.getRefreshExecutor() == null) {
+            runPhase("createBeans", () -> {
+                beans = createBeans(eagerDefinitions);
+                singletonBeans = indexById(beans);
+                postProcessors = getPostProcessors(beans);
+            });
+            runPhase("injectValueDependencies", () -> injectValueDependencies(beans, eagerDefinitions));
+            runPhase("injectRefDependencies", () -> injectRefDependencies(beans, eagerDefinitions));
+            runPhase("postProcessBeforeInitialization", this::postProcessBeforeInitialization);
+            Set<String> deferredInitializations = new HashSet<>();
+            runPhase("runPostConstructMethods", () -> deferredInitializations.addAll(initializeBeans(beans, eagerDefinitions, postProcessors)));
+            runPhase("postProcessAfterInitialization", () -> runPostProcessAfterInitialization(deferredInitializations));
+        } else {
+            runPhase("refreshInParallel", () -> beans = refreshInParallel(beanDefinitions, configuration.getRefreshExecutor()));
+        }
+        runPhase("buildRegistry", () -> {
+            synchronized (this) {
+                List<BeanProvider> beanProviders = getBeanProviders(beanDefinitions);
+                beanRegistry = new BeanRegistry(beanProviders);
+                eventBus.setListeners(getListenerBeans(beanProviders));
+                startPools(deferredBeans.values());
+            }
+        });
+    }
+
+    public synchronized List<String> reload() {
+        return reload(beanDefinitionReader.readBeanDefinitions(this::preloadClass));
+    }
+
+    public synchronized List<String> reload(List<BeanDefinition> newDefinitions) {
+        if (closed) {
+            throw new RuntimeException("Context is closed");
+        }
+        runBeanFactoryPostProcessors(newDefinitions);
+        return reload(newDefinitions, getAffectedIds(beanDefinitions, newDefinitions, Collections.<String>emptySet()));
+    }
+
+    private synchronized void reloadParentRefs(Set<String> parentIds) {
+        if (closed) {
+            return;
+        }
+        Set<String> affectedIds = getAffectedIds(beanDefinitions, beanDefinitions, parentIds);
+        if (!affectedIds.isEmpty()) {
+            reload(beanDefinitions, affectedIds);
+        }
+    }
+
+    private List<String> reload(List<BeanDefinition> newDefinitions, Set<String> affectedIds) {
+        boolean systemAffected = false;
+        for (BeanDefinition beanDefinition : newDefinitions) {
+            systemAffected |= affectedIds.contains(beanDefinition.getId()) && isSystemClass(loadClass(beanDefinition));
+        }
+        for (Bean bean : beans) {
+            systemAffected |= bean.isSystem() && affectedIds.contains(bean.getId());
+        }
+        if (systemAffected) {
+            for (BeanDefinition beanDefinition : newDefinitions) {
+                affectedIds.add(beanDefinition.getId());
+            }
+        }
+
+        Map<String, Bean> newSingletonBeans = new HashMap<>();
+        Map<String, BeanProvider> newDeferredBeans = new HashMap<>();
+        Function<String, BeanProvider> refResolver = id -> {
+            Bean bean = newSingletonBeans.get(id);
+            if (bean != null) {
+                return bean;
+            }
+            BeanProvider deferredBean = newDeferredBeans.get(id);
+            return deferredBean == null ? findParentBeanProvider(id) : deferredBean;
+        };
+
+        List<BeanDefinition> reloadedDefinitions = new ArrayList<>();
+        for (BeanDefinition beanDefinition : indexDefinitionsById(newDefinitions).values()) {
+            String id = beanDefinition.getId();
+            if (affectedIds.contains(id)) {
+                reloadedDefinitions.add(beanDefinition);
+            } else if (singletonBeans.containsKey(id)) {
+                newSingletonBeans.put(id, singletonBeans.get(id));
+            } else {
+                newDeferredBeans.put(id, deferredBeans.get(id));
+            }
+        }
+
+        List<Bean> createdBeans = new ArrayList<>();
+        List<BeanDefinition> createdDefinitions = new ArrayList<>();
+        List<Bean> newSystemBeans = new ArrayList<>();
+        reloadedDefinitions = orderByConstructorDependencies(reloadedDefinitions);
+        for (BeanDefinition beanDefinition : reloadedDefinitions) {
+            if (isSystemClass(loadClass(beanDefinition))) {
+                Bean bean = createBean(beanDefinition, refResolver);
+                newSingletonBeans.put(bean.getId(), bean);
+                createdBeans.add(bean);
+                createdDefinitions.add(beanDefinition);
+                newSystemBeans.add(bean);
+            }
+        }
+        PostProcessorPipeline newPostProcessors = systemAffected ? getPostProcessors(newSystemBeans) : postProcessors;
+
+        Map<String, Object> creationLocks = getCreationLocks(newDefinitions);
+        for (BeanDefinition beanDefinition : reloadedDefinitions) {
+            if (newSingletonBeans.containsKey(beanDefinition.getId())) {
+                continue;
+            }
+            BeanProvider deferredBean = createDeferredBean(beanDefinition, refResolver, () -> newPostProcessors,
+                    creationLocks.get(beanDefinition.getId()));
+            if (deferredBean == null) {
+                Bean bean = createBean(beanDefinition, refResolver);
+                newSingletonBeans.put(bean.getId(), bean);
+                createdBeans.add(bean);
+                createdDefinitions.add(beanDefinition);
+            } else {
+                newDeferredBeans.put(beanDefinition.getId(), deferredBean);
+            }
+        }
+
+        Map<String, Bean> createdBeansById = indexById(createdBeans);
+        for (BeanDefinition beanDefinition : createdDefinitions) {
+            Bean bean = createdBeansById.get(beanDefinition.getId());
+            injectValues(bean, beanDefinition);
+            injectRefs(bean, beanDefinition, refResolver);
+        }
+        List<Bean> applicationBeans = new ArrayList<>();
+        for (Bean bean : createdBeans) {
+            if (!bean.isSystem()) {
+                applicationBeans.add(bean);
+            }
+        }
+        Object[] values = getValues(applicationBeans);
+        String[] ids = getIds(applicationBeans);
+        newPostProcessors.postProcessBeforeInitialization(values, ids);
+        setValues(applicationBeans, values);
+        Set<String> deferredInitializations = initializeBeans(createdBeans, createdDefinitions, newPostProcessors);
+        List<Bean> initializedBeans = excludeBeans(applicationBeans, deferredInitializations);
+        Object[] initializedValues = getValues(initializedBeans);
+        newPostProcessors.postProcessAfterInitialization(initializedValues, getIds(initializedBeans));
+        setValues(initializedBeans, initializedValues);
+
+        List<Bean> newBeans = new ArrayList<>();
+        List<String> reloadedIds = new ArrayList<>();
+        for (String id : indexDefinitionsById(newDefinitions).keySet()) {
+            Bean bean = newSingletonBeans.get(id);
+            if (bean != null) {
+                newBeans.add(bean);
+            }
+        }
+        for (BeanDefinition beanDefinition : indexDefinitionsById(newDefinitions).values()) {
+            if (affectedIds.contains(beanDefinition.getId())) {
+                reloadedIds.add(beanDefinition.getId());
+            }
+        }
+
+        List<BeanProvider> newPools = new ArrayList<>();
+        for (String id : affectedIds) {
+            BeanProvider deferredBean = newDeferredBeans.get(id);
+            if (deferredBean instanceof PooledBean) {
+                newPools.add(deferredBean);
+            }
+        }
+        startPools(newPools);
+
+        Map<String, Bean> oldSingletonBeans = singletonBeans;
+        Map<String, BeanProvider> oldDeferredBeans = deferredBeans;
+        List<BeanDefinition> oldDefinitions = beanDefinitions;
+        beans = newBeans;
+        beanDefinitions = newDefinitions;
+        singletonBeans = newSingletonBeans;
+        deferredBeans = newDeferredBeans;
+        postProcessors = newPostProcessors;
+        List<BeanProvider> beanProviders = getBeanProviders(newDefinitions);
+        beanRegistry = new BeanRegistry(beanProviders);
+        eventBus.setListeners(getListenerBeans(beanProviders));
+        for (String id : affectedIds) {
+            BeanProvider oldDeferredBean = oldDeferredBeans.get(id);
+            if (oldDeferredBean instanceof PooledBean) {
+                ((PooledBean) oldDeferredBean).close();
+            }
+        }
+        destroyBeans(getDestroyableBeans(oldDefinitions, oldSingletonBeans, oldDeferredBeans, affectedIds),
+                indexDefinitionsById(oldDefinitions));
+        for (GenericApplicationContext child : children) {
+            child.reloadParentRefs(affectedIds);
+        }
+        return reloadedIds;
+    }
+
+    public BeanDefinitionWatcher watch() {
+        if (!(beanDefinitionReader instanceof XmlBeanDefinitionReader)) {
+            throw new RuntimeException("Only contexts read by XmlBeanDefinitionReader can be watched");
+        }
+        return new BeanDefinitionWatcher(this, ((XmlBeanDefinitionReader) beanDefinitionReader).getPaths()).start();
+    }
+
+    private Set<String> getAffectedIds(List<BeanDefinition> oldDefinitions, List<BeanDefinition> newDefinitions,
+                                       Set<String> changedParentIds) {
+        Map<String, BeanDefinition> oldDefinitionsById = indexDefinitionsById(oldDefinitions);
+        Map<String, BeanDefinition> newDefinitionsById = indexDefinitionsById(newDefinitions);
+
+        Deque<String> changedIds = new ArrayDeque<>();
+        Set<String> inheritedIds = new HashSet<>();
+        for (String parentId : changedParentIds) {
+            if (!newDefinitionsById.containsKey(parentId)) {
+                changedIds.add(parentId);
+                inheritedIds.add(parentId);
+            }
+        }
+        for (BeanDefinition newDefinition : newDefinitionsById.values()) {
+            BeanDefinition oldDefinition = oldDefinitionsById.get(newDefinition.getId());
+            if (oldDefinition == null || !isSameDefinition(oldDefinition, newDefinition)) {
+                changedIds.add(newDefinition.getId());
+            }
+        }
+        for (String oldId : oldDefinitionsById.keySet()) {
+            if (!newDefinitionsById.containsKey(oldId)) {
+                changedIds.add(oldId);
+            }
+        }
+
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (BeanDefinition beanDefinition : newDefinitionsById.values()) {
+            Map<String, String> refDependencies = beanDefinition.getRefDependencies();
+            for (String ref : refDependencies == null ? Collections.<String>emptyList() : refDependencies.values()) {
+                dependents.computeIfAbsent(ref, key -> new ArrayList<>()).add(beanDefinition.getId());
+            }
+            for (String ref : getConstructorRefs(beanDefinition)) {
+                dependents.computeIfAbsent(ref, key -> new ArrayList<>()).add(beanDefinition.getId());
+            }
+        }
+
+        Set<String> affectedIds = new LinkedHashSet<>();
+        while (!changedIds.isEmpty()) {
+            String id = changedIds.poll();
+            if (affectedIds.add(id)) {
+                changedIds.addAll(dependents.getOrDefault(id, Collections.<String>emptyList()));
+            }
+        }
+        affectedIds.removeAll(inheritedIds);
+        return affectedIds;
+    }
+
+    private Map<String, BeanDefinition> indexDefinitionsById(List<BeanDefinition> beanDefinitions) {
+        Map<String, BeanDefinition> definitionsById = new LinkedHashMap<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            definitionsById.putIfAbsent(beanDefinition.getId(), beanDefinition);
+        }
+        return definitionsById;
+    }
+
+    private boolean isSameDefinition(BeanDefinition first, BeanDefinition second) {
+        return Objects.equals(first.getClassName(), second.getClassName())
+                && Objects.equals(first.getValueDependencies(), second.getValueDependencies())
+                && Objects.equals(first.getRefDependencies(), second.getRefDependencies())
+                && Objects.equals(getConstructorArguments(first), getConstructorArguments(second))
+                && Objects.equals(getLazyRefDependencies(first), getLazyRefDependencies(second))
+                && Objects.equals(first.getScope(), second.getScope())
+                && Objects.equals(first.getPoolMinSize(), second.getPoolMinSize())
+                && Objects.equals(first.getPoolMaxSize(), second.getPoolMaxSize())
+                && Objects.equals(first.getPoolMaxIdle(), second.getPoolMaxIdle())
+                && Objects.equals(first.getLazyInit(), second.getLazyInit());
+    }
+
+    private List<ConstructorArgument> getConstructorArguments(BeanDefinition beanDefinition) {
+        return beanDefinition.hasConstructorArguments()
+                ? beanDefinition.getConstructorArguments()
+                : Collections.<ConstructorArgument>emptyList();
+    }
+
+    private Set<String> getLazyRefDependencies(BeanDefinition beanDefinition) {
+        Set<String> lazyRefDependencies = beanDefinition.getLazyRefDependencies();
+        return lazyRefDependencies == null ? Collections.<String>emptySet() : lazyRefDependencies;
+    }
+
+    private List<String> getConstructorRefs(BeanDefinition beanDefinition) {
+        List<String> refs = new ArrayList<>();
+        for (ConstructorArgument constructorArgument : getConstructorArguments(beanDefinition)) {
+            if (constructorArgument.getRef() != null) {
+                refs.add(constructorArgument.getRef());
+            }
+        }
+        return refs;
+    }
+
+    private List<BeanDefinition> orderByConstructorDependencies(List<BeanDefinition> beanDefinitions) {
+        Map<String, BeanDefinition> definitionsById = indexDefinitionsById(beanDefinitions);
+        List<BeanDefinition> orderedDefinitions = new ArrayList<>(beanDefinitions.size());
+        Set<BeanDefinition> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BeanDefinition root : beanDefinitions) {
+            if (visited.contains(root)) {
+                continue;
+            }
+            LinkedHashSet<String> path = new LinkedHashSet<>();
+            Deque<BeanDefinition> definitions = new ArrayDeque<>();
+            Deque<Iterator<String>> pendingRefs = new ArrayDeque<>();
+            path.add(root.getId());
+            definitions.push(root);
+            pendingRefs.push(getConstructorRefs(root).iterator());
+            while (!definitions.isEmpty()) {
+                Iterator<String> refs = pendingRefs.peek();
+                if (refs.hasNext()) {
+                    BeanDefinition dependency = definitionsById.get(refs.next());
+                    if (dependency == null || visited.contains(dependency)) {
+                        continue;
+                    }
+                    if (!path.add(dependency.getId())) {
+                        throw new RuntimeException("Circular constructor reference detected: "
+                                + String.join(" -> ", path) + " -> " + dependency.getId());
+                    }
+                    definitions.push(dependency);
+                    pendingRefs.push(getConstructorRefs(dependency).iterator());
+                } else {
+                    BeanDefinition beanDefinition = definitions.pop();
+                    pendingRefs.pop();
+                    path.remove(beanDefinition.getId());
+                    visited.add(beanDefinition);
+                    orderedDefinitions.add(beanDefinition);
+                }
+            }
+        }
+        return orderedDefinitions;
+    }
+
+    private void runPhase(String name, Runnable phase) {
+        startupTracker.run(name, null, phase);
+    }
+
+    private Map<String, Object> getCreationLocks(List<BeanDefinition> beanDefinitions) {
+        Map<String, Object> creationLocks = new HashMap<>();
+        for (List<String> cycle : new DependencyGraph(beanDefinitions, true).getCycles()) {
+            Object creationLock = new Object();
+            for (String id : cycle) {
+                creationLocks.put(id, creationLock);
+            }
+        }
+        return creationLocks;
+    }
+
+    private BeanProvider createDeferredBean(BeanDefinition beanDefinition, Function<String, BeanProvider> refResolver,
+                                            Supplier<PostProcessorPipeline> postProcessors, Object creationLock) {
+        Class<?> clazz = loadClass(beanDefinition);
+        if (isSystemClass(clazz)) {
+            return null;
+        }
+
+        String scope = beanDefinition.getScope() == null ? BeanDefinition.SCOPE_SINGLETON : beanDefinition.getScope();
+        switch (scope) {
+            case BeanDefinition.SCOPE_PROTOTYPE:
+                return new PrototypeBean(new BeanCreationPlan(beanDefinition, clazz),
+                        creationPlan -> createFromPlan(creationPlan, NO_EARLY_VALUE, refResolver, postProcessors.get()));
+            case BeanDefinition.SCOPE_THREAD:
+                return new ThreadScopedBean(new BeanCreationPlan(beanDefinition, clazz),
+                        creationPlan -> createFromPlan(creationPlan, NO_EARLY_VALUE, refResolver, postProcessors.get()));
+            case BeanDefinition.SCOPE_POOLED:
+                return new PooledBean(new BeanCreationPlan(beanDefinition, clazz),
+                        creationPlan -> createFromPlan(creationPlan, NO_EARLY_VALUE, refResolver, postProcessors.get()),
+                        configuration.getPoolBorrowTimeout());
+            case BeanDefinition.SCOPE_SINGLETON:
+                Boolean lazyInit = beanDefinition.getLazyInit();
+                if (lazyInit == null ? configuration.isDefaultLazyInit() : lazyInit) {
+                    return new LazyBean(new BeanCreationPlan(beanDefinition, clazz),
+                            lazyBean -> createFromPlan(lazyBean.getCreationPlan(), lazyBean::setEarlyValue, refResolver, postProcessors.get()),
+                            creationLock);
+                }
+                return null;
+            default:
+                throw new RuntimeException("Unknown scope: " + scope + " for bean: " + beanDefinition.getId());
+        }
+    }
+
+    private void startPools(Collection<BeanProvider> beanProviders) {
+        for (BeanProvider beanProvider : beanProviders) {
+            if (beanProvider instanceof PooledBean) {
+                PooledBean pool = (PooledBean) beanProvider;
+                pool.prefill();
+                if (pool.hasIdleEviction()) {
+                    pool.startEviction(getPoolEvictionScheduler());
+                }
+            }
+        }
+    }
+
+    private synchronized ScheduledExecutorService getPoolEvictionScheduler() {
+        if (poolEvictionScheduler == null) {
+            poolEvictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bean-pool-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return poolEvictionScheduler;
+    }
+
+    private List<BeanProvider> getListenerBeans(List<BeanProvider> beanProviders) {
+        List<BeanProvider> listenerBeans = new ArrayList<>();
+        for (BeanProvider beanProvider : beanProviders) {
+            if ((beanProvider instanceof Bean || beanProvider instanceof LazyBean) && !beanProvider.isSystem()) {
+                listenerBeans.add(beanRegistry.getBean(beanProvider.getId()));
+            }
+        }
+        return listenerBeans;
+    }
+
+    private List<BeanProvider> getBeanProviders(List<BeanDefinition> beanDefinitions) {
+        List<BeanProvider> beanProviders = new ArrayList<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            BeanProvider beanProvider = singletonBeans.get(beanDefinition.getId());
+            beanProviders.add(beanProvider == null ? deferredBeans.get(beanDefinition.getId()) : beanProvider);
+        }
+        return beanProviders;
+    }
+
+    private Object createFromPlan(BeanCreationPlan creationPlan, Consumer<Object> onInstantiated,
+                                  Function<String, BeanProvider> refResolver, PostProcessorPipeline postProcessors) {
+        StartupTracker startupTracker = this.startupTracker;
+        StartupTracker.Step step = startupTracker.start("createBean", creationPlan.getId());
+        try {
+            Bean bean = new Bean(creationPlan.getId(), creationPlan.instantiate(refResolver));
+            onInstantiated.accept(bean.getValue());
+            creationPlan.injectValues(bean.getValue());
+            creationPlan.injectRefs(bean.getValue(), refResolver);
+            postProcessBeforeInitialization(bean, postProcessors);
+            Object value = bean.getValue();
+            getDependencyInitialization(creationPlan.getBeanDefinition()).join();
+            invokeAwareMethods(value);
+            creationPlan.runPostConstructMethods(value);
+            CompletableFuture<Void> initialization = runAsyncPostConstructMethods(value);
+            if (BeanDefinition.SCOPE_SINGLETON.equals(creationPlan.getBeanDefinition().getScope())) {
+                initializationFutures.put(creationPlan.getId(), initialization);
+            }
+            postProcessAfterInitialization(bean, postProcessors);
+            return bean.getValue();
+        } catch (Exception e) {
+            e.printStackTrace();
+            startupTracker.fail(step);
+            throw new RuntimeException("Create bean failed: " + creationPlan.getId(), e);
+        } finally {
+            startupTracker.end(step);
+        }
+    }
+
+    private BeanProvider findBeanProvider(String id) {
+        Function<String, BeanProvider> creatingRefResolver = this.creatingRefResolver;
+        if (creatingRefResolver != null) {
+            return creatingRefResolver.apply(id);
+        }
+        BeanProvider beanProvider = singletonBeans.get(id);
+        return beanProvider == null ? findDeferredBeanProvider(id) : beanProvider;
+    }
+
+    private BeanProvider findDeferredBeanProvider(String id) {
+        BeanProvider beanProvider = deferredBeans.get(id);
+        return beanProvider == null ? findParentBeanProvider(id) : beanProvider;
+    }
+
+    private BeanProvider findParentBeanProvider(String id) {
+        for (GenericApplicationContext context = parent; context != null; context = context.parent) {
+            BeanProvider beanProvider = context.beanRegistry.getBean(id);
+            if (beanProvider != null) {
+                return beanProvider;
+            }
+        }
+        return null;
+    }
+
+    private List<Bean> refreshInParallel(List<BeanDefinition> beanDefinitions, Executor executor) {
+        DependencyGraph dependencyGraph = new DependencyGraph(beanDefinitions);
+        List<BeanDefinition> orderedDefinitions = dependencyGraph.getTopologicalOrder();
+
+        Map<String, Bean> beansById = new ConcurrentHashMap<>();
+        singletonBeans = beansById;
+        List<Bean> systemBeans = new ArrayList<>();
+        for (BeanDefinition beanDefinition : orderedDefinitions) {
+            if (isSystemClass(loadClass(beanDefinition))) {
+                Bean systemBean = createBean(beanDefinition, id -> beansById.get(id));
+                beansById.put(systemBean.getId(), systemBean);
+                systemBeans.add(systemBean);
+            }
+        }
+        for (Bean systemBean : systemBeans) {
+            startupTracker.run("initializeBean", systemBean.getId(), () -> {
+                BeanDefinition beanDefinition = findDefinition(orderedDefinitions, systemBean.getId());
+                for (String dependency : dependencyGraph.getDependencies(systemBean.getId())) {
+                    if (!beansById.containsKey(dependency)) {
+                        throw new RuntimeException("Bean post processor " + systemBean.getId()
+                                + " cannot reference application bean " + dependency + " in parallel refresh");
+                    }
+                }
+                injectValues(systemBean, beanDefinition);
+                injectRefs(systemBean, beanDefinition, beansById);
+                initializeBean(systemBean, beanDefinition, PostProcessorPipeline.EMPTY);
+            });
+        }
+
+        PostProcessorPipeline postProcessors = getPostProcessors(systemBeans);
+        this.postProcessors = postProcessors;
+        Map<String, CompletableFuture<Bean>> futures = new HashMap<>();
+        List<CompletableFuture<Bean>> creationFutures = new ArrayList<>();
+        for (BeanDefinition beanDefinition : orderedDefinitions) {
+            if (beansById.containsKey(beanDefinition.getId()) || deferredBeans.containsKey(beanDefinition.getId())) {
+                continue;
+            }
+            List<CompletableFuture<Bean>> dependencyFutures = collectDependencyFutures(beanDefinition.getId(), dependencyGraph, futures);
+            CompletableFuture<Bean> creationFuture = CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[0])).thenApplyAsync(ignored ->
+                    startupTracker.call("initializeBean", beanDefinition.getId(), () -> {
+                        Bean bean = createBean(beanDefinition, id -> {
+                            Bean refBean = beansById.get(id);
+                            return refBean == null ? findDeferredBeanProvider(id) : refBean;
+                        });
+                        beansById.put(bean.getId(), bean);
+                        injectValues(bean, beanDefinition);
+                        injectRefs(bean, beanDefinition, beansById);
+                        postProcessBeforeInitialization(bean, postProcessors);
+                        Object value = bean.getValue();
+                        runPostConstructMethods(value);
+                        initializationFutures.put(bean.getId(), runAsyncPostConstructMethods(value));
+                        postProcessAfterInitialization(bean, postProcessors);
+                        return bean;
+                    }), executor);
+            creationFutures.add(creationFuture);
+            futures.put(beanDefinition.getId(), creationFuture.thenCompose(bean ->
+                    initializationFutures.get(bean.getId()).thenApply(ignored -> bean)));
+        }
+
+        try {
+            CompletableFuture.allOf(creationFutures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Parallel refresh failed", e.getCause());
+        }
+
+        List<Bean> createdBeans = new ArrayList<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            Bean bean = beansById.get(beanDefinition.getId());
+            if (bean != null) {
+                createdBeans.add(bean);
+            }
+        }
+        return createdBeans;
+    }
+
+    private List<CompletableFuture<Bean>> collectDependencyFutures(String id, DependencyGraph dependencyGraph,
+                                                                   Map<String, CompletableFuture<Bean>> futures) {
+        List<CompletableFuture<Bean>> dependencyFutures = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> pendingIds = new ArrayDeque<>();
+        pendingIds.push(id);
+        while (!pendingIds.isEmpty()) {
+            for (String dependency : dependencyGraph.getDependencies(pendingIds.pop())) {
+                CompletableFuture<Bean> dependencyFuture = futures.get(dependency);
+                if (dependencyFuture != null) {
+                    dependencyFutures.add(dependencyFuture);
+                } else if (deferredBeans.containsKey(dependency) && visited.add(dependency)) {
+                    pendingIds.push(dependency);
+                }
+            }
+        }
+        return dependencyFutures;
+    }
+
+    private BeanDefinition findDefinition(List<BeanDefinition> beanDefinitions, String id) {
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (Objects.equals(beanDefinition.getId(), id)) {
+                return beanDefinition;
+            }
+        }
+        throw new RuntimeException("No bean definition found for id: " + id);
+    }
+
+    private Set<String> initializeBeans(List<Bean> beansToInitialize, List<BeanDefinition> beanDefinitionsToInitialize,
+                                        PostProcessorPipeline postProcessors) {
+        Set<String> deferredInitializations = new HashSet<>();
+        Map<String, Bean> beansById = indexById(beansToInitialize);
+        Map<String, BeanDefinition> definitionsById = indexDefinitionsById(beanDefinitionsToInitialize);
+        Set<String> visited = new HashSet<>();
+        Deque<Bean> pendingBeans = new ArrayDeque<>();
+        Deque<Iterator<String>> pendingDependencies = new ArrayDeque<>();
+        for (Bean root : beansToInitialize) {
+            if (!visited.add(root.getId())) {
+                continue;
+            }
+            pendingBeans.push(root);
+            pendingDependencies.push(getInitializationDependencies(definitionsById.get(root.getId())).iterator());
+            while (!pendingBeans.isEmpty()) {
+                Iterator<String> dependencies = pendingDependencies.peek();
+                if (dependencies.hasNext()) {
+                    Bean dependencyBean = beansById.get(dependencies.next());
+                    if (dependencyBean != null && visited.add(dependencyBean.getId())) {
+                        pendingBeans.push(dependencyBean);
+                        pendingDependencies.push(getInitializationDependencies(definitionsById.get(dependencyBean.getId())).iterator());
+                    }
+                } else {
+                    Bean bean = pendingBeans.pop();
+                    pendingDependencies.pop();
+                    startupTracker.run("runPostConstructMethods", bean.getId(), () -> {
+                        if (initializeBean(bean, definitionsById.get(bean.getId()), postProcessors)) {
+                            deferredInitializations.add(bean.getId());
+                        }
+                    });
+                }
+            }
+        }
+        return deferredInitializations;
+    }
+
+    private boolean initializeBean(Bean bean, BeanDefinition beanDefinition, PostProcessorPipeline postProcessors) {
+        Object value = bean.getValue();
+        CompletableFuture<Void> dependencies = getDependencyInitialization(beanDefinition);
+        if (dependencies.isDone() && !dependencies.isCompletedExceptionally()) {
+            runPostConstructMethods(value);
+            initializationFutures.put(bean.getId(), runAsyncPostConstructMethods(value));
+            return false;
+        }
+        CompletableFuture<Void> initialization = dependencies.thenComposeAsync(ignored -> {
+            runPostConstructMethods(value);
+            return runAsyncPostConstructMethods(value);
+        }, configuration.getInitializationExecutor()).thenRun(() -> {
+            postProcessAfterInitialization(bean, postProcessors);
+            publishInitializedBean(bean);
+        });
+        initializationFutures.put(bean.getId(), initialization);
+        return true;
+    }
+
+    private synchronized void publishInitializedBean(Bean bean) {
+        if (beanRegistry != null && !closed && singletonBeans.get(bean.getId()) == bean) {
+            List<BeanProvider> beanProviders = getBeanProviders(beanDefinitions);
+            beanRegistry = new BeanRegistry(beanProviders);
+            eventBus.setListeners(getListenerBeans(beanProviders));
+        }
+    }
+
+    private List<String> getInitializationDependencies(BeanDefinition beanDefinition) {
+        List<String> dependencies = new ArrayList<>();
+        if (beanDefinition == null) {
+            return dependencies;
+        }
+        Map<String, String> refDependencies = beanDefinition.getRefDependencies();
+        if (refDependencies != null) {
+            for (Map.Entry<String, String> entry : refDependencies.entrySet()) {
+                if (!beanDefinition.isLazyRef(entry.getKey())) {
+                    dependencies.add(entry.getValue());
+                }
+            }
+        }
+        dependencies.addAll(getConstructorRefs(beanDefinition));
+        return dependencies;
+    }
+
+    private CompletableFuture<Void> getDependencyInitialization(BeanDefinition beanDefinition) {
+        List<CompletableFuture<Void>> pendingInitializations = new ArrayList<>();
+        for (String dependency : getInitializationDependencies(beanDefinition)) {
+            CompletableFuture<Void> initialization = findInitializationFuture(dependency);
+            if (initialization != null && (!initialization.isDone() || initialization.isCompletedExceptionally())) {
+                pendingInitializations.add(initialization);
+            }
+        }
+        return pendingInitializations.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.allOf(pendingInitializations.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<Void> findInitializationFuture(String id) {
+        for (GenericApplicationContext context = this; context != null; context = context.parent) {
+            CompletableFuture<Void> initialization = context.initializationFutures.get(id);
+            if (initialization != null) {
+                return initialization;
+            }
+            if (context.beanRegistry != null && context.beanRegistry.getBean(id) != null) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void invokeAwareMethods(Object value) {
+        if (value instanceof ApplicationEventPublisherAware) {
+            ((ApplicationEventPublisherAware) value).setApplicationEventPublisher(this);
+        }
+    }
+
+    private void runPostConstructMethods(Object value) {
+        invokeAwareMethods(value);
+        ClassMetadata metadata = ClassMetadata.forClass(value.getClass());
+        for (Consumer<Object> postConstructInvoker : metadata.getPostConstructInvokers()) {
+            try {
+                postConstructInvoker.accept(value);
+            } catch (Exception e) {
+                e.printStackTrace();
+                throw new RuntimeException("Post construct failed!", e);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> runAsyncPostConstructMethods(Object value) {
+        List<Function<Object, Object>> asyncInvokers = ClassMetadata.forClass(value.getClass()).getAsyncPostConstructInvokers();
+        if (asyncInvokers.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<Object>> initializations = new ArrayList<>();
+        for (Function<Object, Object> asyncInvoker : asyncInvokers) {
+            initializations.add(CompletableFuture.supplyAsync(() -> asyncInvoker.apply(value), configuration.getInitializationExecutor())
+                    .thenCompose(result -> result instanceof CompletionStage
+                            ? ((CompletionStage<?>) result).thenApply(ignored -> (Object) null)
+                            : CompletableFuture.completedFuture(null)));
+        }
+        return CompletableFuture.allOf(initializations.toArray(new CompletableFuture<?>[0]));
+    }
+
+    public CompletableFuture<Void> getReadyFuture() {
+        return CompletableFuture.allOf(initializationFutures.values().toArray(new CompletableFuture<?>[0]));
+    }
+
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            getReadyFuture().get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Async initialization failed", e.getCause());
+        }
+    }
+
+    public BeanStatus getBeanStatus(String beanId) {
+        CompletableFuture<Void> initialization = initializationFutures.get(beanId);
+        if (initialization != null) {
+            if (!initialization.isDone()) {
+                return BeanStatus.INITIALIZING;
+            }
+            return initialization.isCompletedExceptionally() ? BeanStatus.FAILED : BeanStatus.READY;
+        }
+        BeanProvider bean = beanRegistry.getBean(beanId);
+        if (bean == null && parent != null) {
+            return parent.getBeanStatus(beanId);
+        }
+        if (bean == null) {
+            throw new NoSuchBeanException("No bean found for id: " + beanId);
+        }
+        return bean instanceof LazyBean && !((LazyBean) bean).isInitialized() ? BeanStatus.PENDING : BeanStatus.READY;
+    }
+
+    private void runPostProcessAfterInitialization(Set<String> deferredInitializations) {
+        List<Bean> applicationBeans = excludeBeans(getApplicationBeans(), deferredInitializations);
+        Object[] values = getValues(applicationBeans);
+        postProcessors.postProcessAfterInitialization(values, getIds(applicationBeans), startupTracker);
+        setValues(applicationBeans, values);
+    }
+
+    private void postProcessBeforeInitialization() {
+        List<Bean> applicationBeans = getApplicationBeans();
+        Object[] values = getValues(applicationBeans);
+        postProcessors.postProcessBeforeInitialization(values, getIds(applicationBeans), startupTracker);
+        setValues(applicationBeans, values);
+    }
+
+    private List<Bean> getApplicationBeans() {
+        List<Bean> applicationBeans = new ArrayList<>();
+        for (Bean bean : beans) {
+            if (!bean.isSystem()) {
+                applicationBeans.add(bean);
+            }
+        }
+        return applicationBeans;
+    }
+
+    private List<Bean> excludeBeans(List<Bean> beans, Set<String> excludedIds) {
+        if (excludedIds.isEmpty()) {
+            return beans;
+        }
+        List<Bean> remainingBeans = new ArrayList<>();
+        for (Bean bean : beans) {
+            if (!excludedIds.contains(bean.getId())) {
+                remainingBeans.add(bean);
+            }
+        }
+        return remainingBeans;
+    }
+
+    private Object[] getValues(List<Bean> beans) {
+        Object[] values = new Object[beans.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = beans.get(i).getValue();
+        }
+        return values;
+    }
+
+    private String[] getIds(List<Bean> beans) {
+        String[] ids = new String[beans.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = beans.get(i).getId();
+        }
+        return ids;
+    }
+
+    private void setValues(List<Bean> beans, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            beans.get(i).setValue(values[i]);
+        }
+    }
+
+    private PostProcessorPipeline getPostProcessors(List<Bean> candidates) {
+        List<BeanPostProcessor> postProcessors = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (Bean candidate : candidates) {
+            if (isImplementing(candidate.getValue().getClass(), BeanPostProcessor.class)) {
+                postProcessors.add((BeanPostProcessor) candidate.getValue());
+                ids.add(candidate.getId());
+            }
+        }
+        return new PostProcessorPipeline(postProcessors, ids);
+    }
+
+    private void postProcessBeforeInitialization(Bean bean, PostProcessorPipeline postProcessors) {
+        if (!bean.isSystem()) {
+            bean.setValue(postProcessors.postProcessBeforeInitialization(bean.getValue(), bean.getId()));
+        }
+    }
+
+    private void postProcessAfterInitialization(Bean bean, PostProcessorPipeline postProcessors) {
+        if (!bean.isSystem()) {
+            bean.setValue(postProcessors.postProcessAfterInitialization(bean.getValue(), bean.getId()));
+        }
+    }
+
+    private void runBeanFactoryPostProcessors(List<BeanDefinition> beanDefinitions) {
+        List<BeanFactoryPostProcessor> beanFactoryPostProcessors = new ArrayList<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            ClassMetadata metadata = ClassMetadata.forClass(loadClass(beanDefinition));
+            if (metadata.isImplementing(BeanFactoryPostProcessor.class)) {
+                beanFactoryPostProcessors.add((BeanFactoryPostProcessor) metadata.newInstance());
+            }
+        }
+        beanFactoryPostProcessors.sort(Comparator.comparingInt(GenericApplicationContext::getOrder));
+
+        for (BeanFactoryPostProcessor beanFactoryPostProcessor : beanFactoryPostProcessors) {
+            try {
+                beanFactoryPostProcessor.postProcessBeanFactory(beanDefinitions);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                throw new RuntimeException("BeanFactoryPostProcessor failed!", e);
+            }
+        }
+    }
+
+    private static int getOrder(Object postProcessor) {
+        return postProcessor instanceof Ordered ? ((Ordered) postProcessor).getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private boolean isImplementing(Class<?> clazz, Class<?> implementedClazz) {
+        return ClassMetadata.forClass(clazz).isImplementing(implementedClazz);
+    }
+
+    List<Bean> createBeans(List<BeanDefinition> beanDefinitions) {
+        Map<String, BeanDefinition> definitionsById = indexDefinitionsById(beanDefinitions);
+        Map<String, Bean> createdBeansById = new HashMap<>();
+        Set<String> beansInCreation = new HashSet<>();
+        Function<String, BeanProvider> refResolver = new Function<String, BeanProvider>() {
+            @Override
+            public BeanProvider apply(String id) {
+                Bean bean = createdBeansById.get(id);
+                if (bean != null) {
+                    return bean;
+                }
+                BeanDefinition beanDefinition = definitionsById.get(id);
+                return beanDefinition == null
+                        ? findDeferredBeanProvider(id)
+                        : createEagerBean(beanDefinition, this, createdBeansById, beansInCreation);
+            }
+        };
+
+        List<BeanDefinition> systemDefinitions = new ArrayList<>();
+        List<BeanDefinition> applicationDefinitions = new ArrayList<>();
+        for (BeanDefinition beanDefinition : orderByConstructorDependencies(beanDefinitions)) {
+            (isSystemClass(loadClass(beanDefinition)) ? systemDefinitions : applicationDefinitions).add(beanDefinition);
+        }
+
+        Map<BeanDefinition, Bean> createdBeans = new IdentityHashMap<>();
+        creatingRefResolver = refResolver;
+        try {
+            List<Bean> systemBeans = new ArrayList<>();
+            for (BeanDefinition beanDefinition : systemDefinitions) {
+                Bean bean = definitionsById.get(beanDefinition.getId()) == beanDefinition
+                        ? (Bean) refResolver.apply(beanDefinition.getId())
+                        : createEagerBean(beanDefinition, refResolver, createdBeansById, beansInCreation);
+                createdBeans.put(beanDefinition, bean);
+                systemBeans.add(bean);
+            }
+            postProcessors = getPostProcessors(systemBeans);
+            for (BeanDefinition beanDefinition : applicationDefinitions) {
+                Bean bean = definitionsById.get(beanDefinition.getId()) == beanDefinition
+                        ? (Bean) refResolver.apply(beanDefinition.getId())
+                        : createEagerBean(beanDefinition, refResolver, createdBeansById, beansInCreation);
+                createdBeans.put(beanDefinition, bean);
+            }
+        } finally {
+            creatingRefResolver = null;
+        }
+
+        List<Bean> orderedBeans = new ArrayList<>(beanDefinitions.size());
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            orderedBeans.add(createdBeans.get(beanDefinition));
+        }
+        return orderedBeans;
+    }
+
+    private Bean createEagerBean(BeanDefinition beanDefinition, Function<String, BeanProvider> refResolver,
+                                 Map<String, Bean> createdBeansById, Set<String> beansInCreation) {
+        if (!beansInCreation.add(beanDefinition.getId())) {
+            throw new RuntimeException("Circular reference detected while creating bean: " + beanDefinition.getId());
+        }
+        Bean bean = startupTracker.call("createBean", beanDefinition.getId(), () -> createBean(beanDefinition, refResolver));
+        createdBeansById.putIfAbsent(bean.getId(), bean);
+        beansInCreation.remove(beanDefinition.getId());
+        return bean;
+    }
+
+    private Bean createBean(BeanDefinition beanDefinition, Function<String, BeanProvider> refResolver) {
+        try {
+            Class<?> clazz = loadClass(beanDefinition);
+            Object value = beanDefinition.hasConstructorArguments()
+                    ? new BeanCreationPlan(beanDefinition, clazz).instantiate(refResolver)
+                    : ClassMetadata.forClass(clazz).newInstance();
+
+            Bean bean = new Bean(beanDefinition.getId(), value);
+            bean.setSystem(isSystemBean(bean));
+            return bean;
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Create beans failed", e);
+        }
+    }
+
+    private void preloadClass(BeanDefinition beanDefinition) {
+        if (beanDefinition.getClassName() == null) {
+            return;
+        }
+        try {
+            Class.forName(beanDefinition.getClassName(), false, GenericApplicationContext.class.getClassLoader());
+        } catch (ClassNotFoundException ignored) {
+            // reported by loadClass when the bean is created
+        }
+    }
+
+    private Class<?> loadClass(BeanDefinition beanDefinition) {
+        try {
+            return Class.forName(beanDefinition.getClassName(), false, GenericApplicationContext.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Bean class not found: " + beanDefinition.getClassName(), e);
+        }
+    }
+
+    private boolean isSystemBean(Bean bean) {
+        return isSystemClass(bean.getValue().getClass());
+    }
+
+    private boolean isSystemClass(Class<?> clazz) {
+        return isImplementing(clazz, BeanFactoryPostProcessor.class) || isImplementing(clazz, BeanPostProcessor.class);
+    }
+
+    void injectValueDependencies(List<Bean> beansToInject, List<BeanDefinition> beanDefinitionsToInject) {
+        Map<String, Bean> beansById = indexById(beansToInject);
+        for (BeanDefinition beanDefinition : beanDefinitionsToInject) {
+            Bean bean = beansById.get(beanDefinition.getId());
+            if (bean != null) {
+                startupTracker.run("injectValueDependencies", bean.getId(), () -> injectValues(bean, beanDefinition));
+            }
+        }
+    }
+
+    private void injectValues(Bean bean, BeanDefinition beanDefinition) {
+        try {
+            ClassMetadata metadata = ClassMetadata.forClass(bean.getValue().getClass());
+            for (Map.Entry<String, String> entry : beanDefinition.getValueDependencies().entrySet()) {
+                PropertySetter setter = metadata.getSetter(entry.getKey());
+                if (setter != null) {
+                    setter.injectValue(bean.getValue(), entry.getValue());
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Inject value dependencies failed", e);
+        }
+    }
+
+    Object toProperType(String value, String parameterName) {
+        return ValueConverters.forTypeName(parameterName).apply(value);
+    }
+
+    void injectRefDependencies(List<Bean> beansToInject, List<BeanDefinition> beanDefinitionsToInject) {
+        Map<String, Bean> beansById = indexById(beansToInject);
+        for (BeanDefinition beanDefinition : beanDefinitionsToInject) {
+            Bean bean = beansById.get(beanDefinition.getId());
+            if (bean != null) {
+                startupTracker.run("injectRefDependencies", bean.getId(), () -> injectRefs(bean, beanDefinition, beansById));
+            }
+        }
+    }
+
+    private void injectRefs(Bean bean, BeanDefinition beanDefinition, Map<String, Bean> beansById) {
+        injectRefs(bean, beanDefinition, id -> {
+            Bean refBean = beansById.get(id);
+            return refBean == null ? findDeferredBeanProvider(id) : refBean;
+        });
+    }
+
+    private void injectRefs(Bean bean, BeanDefinition beanDefinition, Function<String, BeanProvider> refResolver) {
+        try {
+            ClassMetadata metadata = ClassMetadata.forClass(bean.getValue().getClass());
+            for (Map.Entry<String, String> entry : beanDefinition.getRefDependencies().entrySet()) {
+                PropertySetter setter = metadata.getSetter(entry.getKey());
+                if (setter != null && beanDefinition.isLazyRef(entry.getKey())) {
+                    setter.inject(bean.getValue(), LazyReference.createProxy(setter.getType(), entry.getValue(), refResolver));
+                } else if (setter != null) {
+                    BeanProvider refBean = refResolver.apply(entry.getValue());
+                    if (refBean != null) {
+                        setter.inject(bean.getValue(), refBean.getValue());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Inject ref dependencies failed", e);
+        }
+    }
+
+    private Map<String, Bean> indexById(List<Bean> beans) {
+        Map<String, Bean> beansById = new HashMap<>();
+        for (Bean bean : beans) {
+            beansById.putIfAbsent(bean.getId(), bean);
+        }
+        return beansById;
+    }
+
+    @Override
+    public Object getBean(String beanId) {
+        LookupMetrics lookupMetrics = this.lookupMetrics;
+        if (lookupMetrics == null) {
+            return findBean(beanId);
+        }
+        long startNanos = lookupMetrics.startTimer();
+        try {
+            Object value = findBean(beanId);
+            lookupMetrics.recordLookup(beanId, startNanos);
+            return value;
+        } catch (NoSuchBeanException e) {
+            lookupMetrics.recordMiss();
+            throw e;
+        } catch (RuntimeException e) {
+            lookupMetrics.recordException();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T getBean(Class<T> clazz) {
+        LookupMetrics lookupMetrics = this.lookupMetrics;
+        if (lookupMetrics == null) {
+            return findBean(clazz);
+        }
+        long startNanos = lookupMetrics.startTimer();
+        try {
+            T value = findBean(clazz);
+            lookupMetrics.recordLookup(clazz, startNanos);
+            return value;
+        } catch (NoSuchBeanException e) {
+            lookupMetrics.recordMiss();
+            throw e;
+        } catch (RuntimeException e) {
+            lookupMetrics.recordException();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T getBean(String id, Class<T> clazz) {
+        Object value = getBean(id);
+        if (!clazz.isInstance(value)) {
+            throw new RuntimeException("Bean with id:" + id + " has different class than: " + clazz.getName());
+        }
+        return clazz.cast(value);
+    }
+
+    private Object findBean(String beanId) {
+        BeanProvider bean = beanRegistry.getBean(beanId);
+        if (bean == null) {
+            bean = findParentBeanProvider(beanId);
+        }
+        if (bean == null) {
+            throw new NoSuchBeanException("No bean found for id: " + beanId);
+        }
+        return bean.getValue();
+    }
+
+    private <T> T findBean(Class<T> clazz) {
+        List<BeanProvider> candidates = beanRegistry.getBeans(clazz);
+        for (GenericApplicationContext context = parent; candidates.isEmpty() && context != null; context = context.parent) {
+            candidates = context.beanRegistry.getBeans(clazz);
+        }
+
+        if (candidates.size() > 1) {
+            throw new RuntimeException("More than one bean found with class: " + clazz.getName() + ", try getBean(String beanId).");
+        }
+
+        if (candidates.isEmpty()) {
+            throw new NoSuchBeanException("No bean found with class: " + clazz.getName());
+        }
+
+        return clazz.cast(candidates.get(0).getValue());
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (parent != null) {
+            parent.children.remove(this);
+        }
+        eventBus.close();
+
+        Map<String, BeanDefinition> definitionsById = indexDefinitionsById(beanDefinitions);
+        Map<String, Object> destroyableBeans = getDestroyableBeans(beanDefinitions, singletonBeans, deferredBeans, definitionsById.keySet());
+        Collection<BeanProvider> closedDeferredBeans = deferredBeans.values();
+
+        beanRegistry = new BeanRegistry(Collections.<BeanProvider>emptyList());
+        beans = new ArrayList<>();
+        singletonBeans = Collections.emptyMap();
+        deferredBeans = new HashMap<>();
+        initializationFutures.clear();
+        for (BeanProvider deferredBean : closedDeferredBeans) {
+            if (deferredBean instanceof PooledBean) {
+                ((PooledBean) deferredBean).close();
+            }
+        }
+        if (poolEvictionScheduler != null) {
+            poolEvictionScheduler.shutdownNow();
+        }
+        destroyBeans(destroyableBeans, definitionsById);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private Map<String, Object> getDestroyableBeans(List<BeanDefinition> beanDefinitions, Map<String, Bean> singletonBeans,
+                                                    Map<String, BeanProvider> deferredBeans, Set<String> ids) {
+        Map<String, Object> destroyableBeans = new LinkedHashMap<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (!ids.contains(beanDefinition.getId())) {
+                continue;
+            }
+            Bean bean = singletonBeans.get(beanDefinition.getId());
+            BeanProvider deferredBean = deferredBeans.get(beanDefinition.getId());
+            if (bean != null) {
+                destroyableBeans.putIfAbsent(bean.getId(), bean.getValue());
+            } else if (deferredBean instanceof LazyBean && ((LazyBean) deferredBean).isInitialized()) {
+                destroyableBeans.putIfAbsent(deferredBean.getId(), deferredBean.getValue());
+            }
+        }
+        return destroyableBeans;
+    }
+
+    private void destroyBeans(Map<String, Object> destroyableBeans, Map<String, BeanDefinition> definitionsById) {
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (String id : destroyableBeans.keySet()) {
+            BeanDefinition beanDefinition = definitionsById.get(id);
+            List<String> dependencies = new ArrayList<>(getConstructorRefs(beanDefinition));
+            if (beanDefinition.getRefDependencies() != null) {
+                dependencies.addAll(beanDefinition.getRefDependencies().values());
+            }
+            for (String dependency : dependencies) {
+                if (destroyableBeans.containsKey(dependency)) {
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(id);
+                }
+            }
+        }
+
+        ScheduledExecutorService timeoutScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bean-destroy-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Map<String, CompletableFuture<Void>> destroyFutures = new HashMap<>();
+        try {
+            for (String root : destroyableBeans.keySet()) {
+                if (destroyFutures.containsKey(root)) {
+                    continue;
+                }
+                Set<String> path = new HashSet<>();
+                Deque<String> pendingIds = new ArrayDeque<>();
+                Deque<Iterator<String>> pendingDependents = new ArrayDeque<>();
+                path.add(root);
+                pendingIds.push(root);
+                pendingDependents.push(dependents.getOrDefault(root, Collections.<String>emptyList()).iterator());
+                while (!pendingIds.isEmpty()) {
+                    Iterator<String> beanDependents = pendingDependents.peek();
+                    if (beanDependents.hasNext()) {
+                        String dependent = beanDependents.next();
+                        if (!destroyFutures.containsKey(dependent) && path.add(dependent)) {
+                            pendingIds.push(dependent);
+                            pendingDependents.push(dependents.getOrDefault(dependent, Collections.<String>emptyList()).iterator());
+                        }
+                    } else {
+                        String id = pendingIds.pop();
+                        pendingDependents.pop();
+                        path.remove(id);
+                        destroyFutures.put(id, scheduleDestroy(id, destroyableBeans.get(id), dependents, destroyFutures,
+                                timeoutScheduler, failures));
+                    }
+                }
+            }
+            CompletableFuture.allOf(destroyFutures.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            timeoutScheduler.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            RuntimeException exception = new RuntimeException("Destroy beans failed", failures.get(0));
+            for (Throwable failure : failures.subList(1, failures.size())) {
+                exception.addSuppressed(failure);
+            }
+            throw exception;
+        }
+    }
+
+    private CompletableFuture<Void> scheduleDestroy(String id, Object value, Map<String, List<String>> dependents,
+                                                    Map<String, CompletableFuture<Void>> destroyFutures,
+                                                    ScheduledExecutorService timeoutScheduler, List<Throwable> failures) {
+        List<CompletableFuture<Void>> dependentFutures = new ArrayList<>();
+        for (String dependent : dependents.getOrDefault(id, Collections.<String>emptyList())) {
+            CompletableFuture<Void> dependentFuture = destroyFutures.get(dependent);
+            if (dependentFuture != null) {
+                dependentFutures.add(dependentFuture);
+            }
+        }
+        List<Consumer<Object>> preDestroyInvokers = ClassMetadata.forClass(value.getClass()).getPreDestroyInvokers();
+        CompletableFuture<Void> dependentsDestroyed = CompletableFuture.allOf(dependentFutures.toArray(new CompletableFuture<?>[0]));
+        return preDestroyInvokers.isEmpty()
+                ? dependentsDestroyed
+                : dependentsDestroyed.thenCompose(ignored -> runPreDestroyMethods(id, value, preDestroyInvokers, timeoutScheduler, failures));
+    }
+
+    private CompletableFuture<Void> runPreDestroyMethods(String id, Object value, List<Consumer<Object>> preDestroyInvokers,
+                                                         ScheduledExecutorService timeoutScheduler, List<Throwable> failures) {
+        CompletableFuture<Void> destroyed = new CompletableFuture<>();
+        long timeoutNanos = configuration.getDestroyTimeout().toNanos();
+        ScheduledFuture<?> timeout = timeoutScheduler.schedule(() -> {
+            if (destroyed.complete(null)) {
+                failures.add(new TimeoutException("Destroy bean " + id + " timed out after "
+                        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms"));
+            }
+        }, timeoutNanos, TimeUnit.NANOSECONDS);
+        try {
+            configuration.getDestroyExecutor().execute(() -> {
+                try {
+                    for (Consumer<Object> preDestroyInvoker : preDestroyInvokers) {
+                        preDestroyInvoker.accept(value);
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    failures.add(new RuntimeException("Destroy bean failed: " + id, e));
+                } finally {
+                    timeout.cancel(false);
+                    destroyed.complete(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            failures.add(new RuntimeException("Destroy bean failed: " + id, e));
+            timeout.cancel(false);
+            destroyed.complete(null);
+        }
+        return destroyed;
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        eventBus.publish(event);
+        if (parent != null) {
+            parent.publishEvent(event);
+        }
+    }
+
+    @Override
+    public void publishEventAsync(Object event) {
+        eventBus.publishAsync(event);
+        if (parent != null) {
+            parent.publishEventAsync(event);
+        }
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public <T> T borrowBean(String id, Class<T> clazz) {
+        PooledBean pool = getPooledBean(id, clazz);
+        T value = clazz.cast(pool.borrow());
+        borrowedBeans.put(new IdentityKey(value), pool);
+        return value;
+    }
+
+    public void returnBean(String id, Object value) {
+        IdentityKey key = new IdentityKey(value);
+        PooledBean pool = borrowedBeans.get(key);
+        if (pool != null && !pool.getId().equals(id)) {
+            throw new RuntimeException("Bean was borrowed from pool " + pool.getId() + ", not from " + id);
+        }
+        if (pool == null || !borrowedBeans.remove(key, pool)) {
+            throw new RuntimeException("Bean was not borrowed from pool " + id + " or was already returned");
+        }
+        pool.release(value);
+    }
+
+    public <T, R> R withBean(String id, Class<T> clazz, Function<? super T, ? extends R> action) {
+        PooledBean pool = getPooledBean(id, clazz);
+        T value = clazz.cast(pool.borrow());
+        try {
+            return action.apply(value);
+        } finally {
+            pool.release(value);
+        }
+    }
+
+    public PoolMetrics getPoolMetrics(String id) {
+        return getPooledBean(id, Object.class).getMetrics();
+    }
+
+    private PooledBean getPooledBean(String id, Class<?> clazz) {
+        BeanProvider bean = beanRegistry.getBean(id);
+        if (bean == null) {
+            bean = findParentBeanProvider(id);
+        }
+        if (bean == null) {
+            throw new NoSuchBeanException("No bean found for id: " + id);
+        }
+        if (!(bean instanceof PooledBean)) {
+            throw new RuntimeException("Bean with id:" + id + " is not pooled");
+        }
+        if (!clazz.isAssignableFrom(bean.getType())) {
+            throw new RuntimeException("Bean with id:" + id + " has different class than: " + clazz.getName());
+        }
+        return (PooledBean) bean;
+    }
+
+    public GenericApplicationContext getParent() {
+        return parent;
+    }
+
+    public LookupMetrics getLookupMetrics() {
+        return lookupMetrics;
+    }
+
+    @Override
+    public List<String> getBeanNames() {
+        return beanRegistry.getBeanNames();
+    }
+}
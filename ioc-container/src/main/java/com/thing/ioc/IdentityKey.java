@@ -0,0 +1,19 @@
+package com.thing.ioc;
+
+final class IdentityKey {
+    private final Object value;
+
+    IdentityKey(Object value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof IdentityKey && ((IdentityKey) other).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(value);
+    }
+}
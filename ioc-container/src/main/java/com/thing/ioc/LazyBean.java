@@ -0,0 +1,77 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanProvider;
+
+import java.util.function.Function;
+
+public class LazyBean implements BeanProvider {
+    private final BeanCreationPlan creationPlan;
+    private final Function<LazyBean, Object> initializer;
+    private final Object creationLock;
+    private volatile Object value;
+    private Object earlyValue;
+    private boolean inCreation;
+
+    public LazyBean(BeanCreationPlan creationPlan, Function<LazyBean, Object> initializer) {
+        this(creationPlan, initializer, null);
+    }
+
+    public LazyBean(BeanCreationPlan creationPlan, Function<LazyBean, Object> initializer, Object creationLock) {
+        this.creationPlan = creationPlan;
+        this.initializer = initializer;
+        this.creationLock = creationLock == null ? this : creationLock;
+    }
+
+    @Override
+    public String getId() {
+        return creationPlan.getId();
+    }
+
+    @Override
+    public Class<?> getType() {
+        return creationPlan.getType();
+    }
+
+    @Override
+    public Object getValue() {
+        Object value = this.value;
+        if (value != null) {
+            return value;
+        }
+        synchronized (creationLock) {
+            if (this.value == null) {
+                if (earlyValue != null) {
+                    return earlyValue;
+                }
+                if (inCreation) {
+                    throw new RuntimeException("Circular reference detected while creating lazy bean: " + getId());
+                }
+                inCreation = true;
+                try {
+                    this.value = initializer.apply(this);
+                } finally {
+                    inCreation = false;
+                    earlyValue = null;
+                }
+            }
+            return this.value;
+        }
+    }
+
+    @Override
+    public boolean isSystem() {
+        return false;
+    }
+
+    public boolean isInitialized() {
+        return value != null;
+    }
+
+    public BeanCreationPlan getCreationPlan() {
+        return creationPlan;
+    }
+
+    void setEarlyValue(Object earlyValue) {
+        this.earlyValue = earlyValue;
+    }
+}
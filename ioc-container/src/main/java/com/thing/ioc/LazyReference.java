@@ -0,0 +1,101 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanProvider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class LazyReference implements InvocationHandler {
+    private final String id;
+    private final Supplier<Object> resolver;
+    private volatile Object target;
+
+    private LazyReference(String id, Supplier<Object> resolver) {
+        this.id = id;
+        this.resolver = resolver;
+    }
+
+    public static Object createProxy(Class<?> type, String id, Supplier<Object> resolver) {
+        if (!type.isInterface()) {
+            throw new RuntimeException("Lazy ref " + id + " requires an interface type, but property type is: " + type.getName());
+        }
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new LazyReference(id, resolver));
+    }
+
+    static Object createProxy(Class<?> type, String id, Function<String, BeanProvider> refResolver) {
+        return createProxy(type, id, () -> {
+            BeanProvider refProvider = refResolver.apply(id);
+            return refProvider == null ? null : refProvider.getValue();
+        });
+    }
+
+    public static boolean isResolved(Object value) {
+        if (value == null || !Proxy.isProxyClass(value.getClass())) {
+            return true;
+        }
+        InvocationHandler handler = Proxy.getInvocationHandler(value);
+        return !(handler instanceof LazyReference) || ((LazyReference) handler).target != null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return isSameTarget(proxy, args[0]);
+                case "hashCode":
+                    return id.hashCode();
+                case "toString":
+                    Object target = this.target;
+                    return target == null ? toString() : target.toString();
+                default:
+                    break;
+            }
+        }
+        try {
+            return method.invoke(getTarget(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean isSameTarget(Object proxy, Object other) {
+        if (proxy == other) {
+            return true;
+        }
+        if (other == null || !Proxy.isProxyClass(other.getClass())) {
+            return false;
+        }
+        InvocationHandler otherHandler = Proxy.getInvocationHandler(other);
+        if (!(otherHandler instanceof LazyReference) || !id.equals(((LazyReference) otherHandler).id)) {
+            return false;
+        }
+        return getTarget() == ((LazyReference) otherHandler).getTarget();
+    }
+
+    private Object getTarget() {
+        Object target = this.target;
+        if (target == null) {
+            synchronized (this) {
+                target = this.target;
+                if (target == null) {
+                    target = resolver.get();
+                    if (target == null) {
+                        throw new NoSuchBeanException("No bean found for lazy ref: " + id);
+                    }
+                    this.target = target;
+                }
+            }
+        }
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyReference[" + id + "]";
+    }
+}
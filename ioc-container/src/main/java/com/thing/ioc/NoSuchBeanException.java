@@ -0,0 +1,9 @@
+package com.thing.ioc;
+
+public class NoSuchBeanException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public NoSuchBeanException(String message) {
+        super(message);
+    }
+}
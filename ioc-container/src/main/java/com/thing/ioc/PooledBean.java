@@ -0,0 +1,210 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.BeanProvider;
+import com.thing.ioc.metrics.PoolMetrics;
+import com.thing.ioc.reflection.ClassMetadata;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class PooledBean implements BeanProvider {
+    public static final int DEFAULT_MAX_SIZE = 8;
+    private static final long MIN_EVICTION_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final BeanCreationPlan creationPlan;
+    private final Function<BeanCreationPlan, Object> factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long maxIdleNanos;
+    private final long borrowTimeoutNanos;
+    private final ConcurrentLinkedDeque<IdleValue> idleValues = new ConcurrentLinkedDeque<>();
+    private final Set<IdentityKey> borrowedValues = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Semaphore permits;
+    private final PoolMetrics metrics = new PoolMetrics(size::get, idleCount::get);
+    private volatile ScheduledFuture<?> eviction;
+    private volatile boolean closed;
+
+    public PooledBean(BeanCreationPlan creationPlan, Function<BeanCreationPlan, Object> factory, Duration borrowTimeout) {
+        BeanDefinition beanDefinition = creationPlan.getBeanDefinition();
+        this.creationPlan = creationPlan;
+        this.factory = factory;
+        this.minSize = beanDefinition.getPoolMinSize() == null ? 0 : beanDefinition.getPoolMinSize();
+        this.maxSize = beanDefinition.getPoolMaxSize() == null ? Math.max(DEFAULT_MAX_SIZE, minSize) : beanDefinition.getPoolMaxSize();
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new RuntimeException("Invalid pool size for bean " + creationPlan.getId() + ": min " + minSize + ", max " + maxSize);
+        }
+        this.maxIdleNanos = beanDefinition.getPoolMaxIdle() == null ? -1 : beanDefinition.getPoolMaxIdle().toNanos();
+        this.borrowTimeoutNanos = borrowTimeout.toNanos();
+        this.permits = new Semaphore(maxSize);
+    }
+
+    @Override
+    public String getId() {
+        return creationPlan.getId();
+    }
+
+    @Override
+    public Class<?> getType() {
+        return creationPlan.getType();
+    }
+
+    @Override
+    public Object getValue() {
+        throw new RuntimeException("Pooled bean " + getId() + " must be borrowed with borrowBean or withBean");
+    }
+
+    @Override
+    public boolean isSystem() {
+        return false;
+    }
+
+    public Object borrow() {
+        if (closed) {
+            throw new RuntimeException("Pool is closed: " + getId());
+        }
+        if (!permits.tryAcquire()) {
+            long startNanos = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while borrowing pooled bean: " + getId(), e);
+            }
+            metrics.recordWait(System.nanoTime() - startNanos);
+            if (!acquired) {
+                metrics.recordTimeout();
+                throw new RuntimeException("Timed out borrowing pooled bean: " + getId());
+            }
+        }
+
+        IdleValue idleValue = idleValues.pollFirst();
+        if (idleValue != null) {
+            idleCount.decrementAndGet();
+            metrics.recordHit();
+            borrowedValues.add(new IdentityKey(idleValue.value));
+            return idleValue.value;
+        }
+        metrics.recordMiss();
+        try {
+            Object value = factory.apply(creationPlan);
+            size.incrementAndGet();
+            borrowedValues.add(new IdentityKey(value));
+            return value;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Object value) {
+        if (!borrowedValues.remove(new IdentityKey(value))) {
+            throw new RuntimeException("Value was not borrowed from pool " + getId() + " or was already returned");
+        }
+        if (closed) {
+            discard(value);
+            return;
+        }
+        IdleValue idleValue = new IdleValue(value, System.nanoTime());
+        idleValues.offerFirst(idleValue);
+        idleCount.incrementAndGet();
+        permits.release();
+        if (closed && idleValues.removeFirstOccurrence(idleValue)) {
+            idleCount.decrementAndGet();
+            discard(value);
+        }
+    }
+
+    void prefill() {
+        while (size.get() < minSize) {
+            Object value = factory.apply(creationPlan);
+            size.incrementAndGet();
+            idleValues.offerLast(new IdleValue(value, System.nanoTime()));
+            idleCount.incrementAndGet();
+        }
+    }
+
+    void startEviction(ScheduledExecutorService scheduler) {
+        if (maxIdleNanos < 0) {
+            return;
+        }
+        long intervalNanos = Math.max(maxIdleNanos / 2, MIN_EVICTION_INTERVAL_NANOS);
+        eviction = scheduler.scheduleWithFixedDelay(() -> evictIdle(System.nanoTime()), intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    boolean hasIdleEviction() {
+        return maxIdleNanos >= 0;
+    }
+
+    void evictIdle(long nowNanos) {
+        while (size.get() > minSize) {
+            IdleValue idleValue = idleValues.peekLast();
+            if (idleValue == null || nowNanos - idleValue.returnedNanos < maxIdleNanos) {
+                return;
+            }
+            if (idleValues.removeLastOccurrence(idleValue)) {
+                idleCount.decrementAndGet();
+                metrics.recordEviction();
+                discard(idleValue.value);
+            }
+        }
+    }
+
+    public void close() {
+        closed = true;
+        ScheduledFuture<?> eviction = this.eviction;
+        if (eviction != null) {
+            eviction.cancel(false);
+        }
+        IdleValue idleValue;
+        while ((idleValue = idleValues.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            discard(idleValue.value);
+        }
+    }
+
+    private void discard(Object value) {
+        size.decrementAndGet();
+        for (Consumer<Object> preDestroyInvoker : ClassMetadata.forClass(value.getClass()).getPreDestroyInvokers()) {
+            try {
+                preDestroyInvoker.accept(value);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    public PoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private static class IdleValue {
+        private final Object value;
+        private final long returnedNanos;
+
+        private IdleValue(Object value, long returnedNanos) {
+            this.value = value;
+            this.returnedNanos = returnedNanos;
+        }
+    }
+}
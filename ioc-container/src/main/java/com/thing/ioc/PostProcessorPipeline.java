@@ -0,0 +1,167 @@
+package com.thing.ioc;
+
+import com.thing.processor.BeanPostProcessor;
+import com.thing.processor.Ordered;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class PostProcessorPipeline {
+    public static final PostProcessorPipeline EMPTY = new PostProcessorPipeline(new ArrayList<>());
+
+    private final BeanPostProcessor[] postProcessors;
+    private final String[] names;
+    private final Class<?>[][] beanTypes;
+    private final boolean[] acceptsAll;
+
+    public PostProcessorPipeline(List<? extends BeanPostProcessor> postProcessors) {
+        this(postProcessors, null);
+    }
+
+    PostProcessorPipeline(List<? extends BeanPostProcessor> postProcessors, List<String> names) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < postProcessors.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(index -> getOrder(postProcessors.get(index))));
+
+        this.postProcessors = new BeanPostProcessor[order.size()];
+        this.names = new String[order.size()];
+        for (int i = 0; i < order.size(); i++) {
+            this.postProcessors[i] = postProcessors.get(order.get(i));
+            this.names[i] = names == null ? this.postProcessors[i].getClass().getName() : names.get(order.get(i));
+        }
+        this.beanTypes = new Class<?>[this.postProcessors.length][];
+        this.acceptsAll = new boolean[this.postProcessors.length];
+        for (int i = 0; i < this.postProcessors.length; i++) {
+            beanTypes[i] = this.postProcessors[i].getBeanTypes();
+            for (Class<?> beanType : beanTypes[i]) {
+                acceptsAll[i] |= beanType == Object.class;
+            }
+        }
+    }
+
+    private static int getOrder(BeanPostProcessor postProcessor) {
+        return postProcessor instanceof Ordered ? ((Ordered) postProcessor).getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+
+    public boolean isEmpty() {
+        return postProcessors.length == 0;
+    }
+
+    public Object postProcessBeforeInitialization(Object bean, String id) {
+        for (int i = 0; i < postProcessors.length; i++) {
+            if (accepts(i, bean)) {
+                try {
+                    bean = postProcessors[i].postProcessBeforeInitialization(bean, id);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    throw new RuntimeException("Post process before initialization failed!", e);
+                }
+            }
+        }
+        return bean;
+    }
+
+    public Object postProcessAfterInitialization(Object bean, String id) {
+        for (int i = 0; i < postProcessors.length; i++) {
+            if (accepts(i, bean)) {
+                try {
+                    bean = postProcessors[i].postProcessAfterInitialization(bean, id);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    throw new RuntimeException("Post process after initialization failed!", e);
+                }
+            }
+        }
+        return bean;
+    }
+
+    public void postProcessBeforeInitialization(Object[] beans, String[] ids) {
+        postProcessBeforeInitialization(beans, ids, StartupTracker.DISABLED);
+    }
+
+    public void postProcessAfterInitialization(Object[] beans, String[] ids) {
+        postProcessAfterInitialization(beans, ids, StartupTracker.DISABLED);
+    }
+
+    void postProcessBeforeInitialization(Object[] beans, String[] ids, StartupTracker startupTracker) {
+        for (int i = 0; i < postProcessors.length; i++) {
+            StartupTracker.Step step = startupTracker.start("postProcessBeforeInitialization", names[i]);
+            try {
+                runBatch(i, beans, ids, true);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                startupTracker.fail(step);
+                throw new RuntimeException("Post process before initialization failed!", e);
+            } finally {
+                startupTracker.end(step);
+            }
+        }
+    }
+
+    void postProcessAfterInitialization(Object[] beans, String[] ids, StartupTracker startupTracker) {
+        for (int i = 0; i < postProcessors.length; i++) {
+            StartupTracker.Step step = startupTracker.start("postProcessAfterInitialization", names[i]);
+            try {
+                runBatch(i, beans, ids, false);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                startupTracker.fail(step);
+                throw new RuntimeException("Post process after initialization failed!", e);
+            } finally {
+                startupTracker.end(step);
+            }
+        }
+    }
+
+    private void runBatch(int index, Object[] beans, String[] ids, boolean beforeInitialization) {
+        if (acceptsAll[index]) {
+            invoke(postProcessors[index], beans, ids, beforeInitialization);
+            return;
+        }
+
+        int[] positions = new int[beans.length];
+        int count = 0;
+        for (int i = 0; i < beans.length; i++) {
+            if (accepts(index, beans[i])) {
+                positions[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+
+        Object[] matchingBeans = new Object[count];
+        String[] matchingIds = new String[count];
+        for (int i = 0; i < count; i++) {
+            matchingBeans[i] = beans[positions[i]];
+            matchingIds[i] = ids[positions[i]];
+        }
+        invoke(postProcessors[index], matchingBeans, matchingIds, beforeInitialization);
+        for (int i = 0; i < count; i++) {
+            beans[positions[i]] = matchingBeans[i];
+        }
+    }
+
+    private void invoke(BeanPostProcessor postProcessor, Object[] beans, String[] ids, boolean beforeInitialization) {
+        if (beforeInitialization) {
+            postProcessor.postProcessBeforeInitialization(beans, ids);
+        } else {
+            postProcessor.postProcessAfterInitialization(beans, ids);
+        }
+    }
+
+    private boolean accepts(int index, Object bean) {
+        if (acceptsAll[index]) {
+            return true;
+        }
+        for (Class<?> beanType : beanTypes[index]) {
+            if (beanType.isInstance(bean)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
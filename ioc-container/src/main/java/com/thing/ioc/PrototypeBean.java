@@ -0,0 +1,35 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanProvider;
+
+import java.util.function.Function;
+
+public class PrototypeBean implements BeanProvider {
+    private final BeanCreationPlan creationPlan;
+    private final Function<BeanCreationPlan, Object> factory;
+
+    public PrototypeBean(BeanCreationPlan creationPlan, Function<BeanCreationPlan, Object> factory) {
+        this.creationPlan = creationPlan;
+        this.factory = factory;
+    }
+
+    @Override
+    public String getId() {
+        return creationPlan.getId();
+    }
+
+    @Override
+    public Class<?> getType() {
+        return creationPlan.getType();
+    }
+
+    @Override
+    public Object getValue() {
+        return factory.apply(creationPlan);
+    }
+
+    @Override
+    public boolean isSystem() {
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanProvider;
+
+final class SingletonBean implements BeanProvider {
+    private final String id;
+    private final Object value;
+    private final boolean system;
+
+    SingletonBean(String id, Object value, boolean system) {
+        this.id = id;
+        this.value = value;
+        this.system = system;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public Class<?> getType() {
+        return value.getClass();
+    }
+
+    @Override
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean isSystem() {
+        return system;
+    }
+}
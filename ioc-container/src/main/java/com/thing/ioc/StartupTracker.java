@@ -0,0 +1,118 @@
+package com.thing.ioc;
+
+import com.thing.ioc.startup.StartupListener;
+import com.thing.ioc.startup.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+class StartupTracker {
+    static final StartupTracker DISABLED = new StartupTracker(null);
+
+    private final StartupListener listener;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final ThreadLocal<Step> currentBeanStep = new ThreadLocal<>();
+
+    StartupTracker(StartupListener listener) {
+        this.listener = listener;
+        this.threadMXBean = listener == null ? null : getAllocationMXBean();
+    }
+
+    Step start(String name, String beanId) {
+        if (listener == null) {
+            return null;
+        }
+        Thread thread = Thread.currentThread();
+        Step parent = null;
+        if (beanId != null) {
+            parent = currentBeanStep.get();
+        }
+        Step step = new Step(name, beanId, thread, parent, allocatedBytes(thread), System.nanoTime());
+        if (beanId != null) {
+            currentBeanStep.set(step);
+        }
+        return step;
+    }
+
+    void end(Step step) {
+        if (step == null) {
+            return;
+        }
+        long durationNanos = System.nanoTime() - step.startNanos;
+        long allocatedBytes = step.startAllocatedBytes < 0 ? -1 : allocatedBytes(step.thread) - step.startAllocatedBytes;
+        if (step.beanId != null) {
+            if (step.parent == null) {
+                currentBeanStep.remove();
+            } else {
+                currentBeanStep.set(step.parent);
+                step.parent.childNanos += durationNanos;
+                step.parent.childAllocatedBytes += Math.max(allocatedBytes, 0);
+            }
+        }
+        long selfAllocatedBytes = allocatedBytes < 0 ? -1 : allocatedBytes - step.childAllocatedBytes;
+        listener.stepFinished(new StartupStep(step.name, step.beanId, step.thread.getName(), step.startNanos,
+                durationNanos, allocatedBytes, step.failed, durationNanos - step.childNanos, selfAllocatedBytes));
+    }
+
+    void fail(Step step) {
+        if (step != null) {
+            step.failed = true;
+        }
+    }
+
+    void run(String name, String beanId, Runnable action) {
+        call(name, beanId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    <T> T call(String name, String beanId, Supplier<T> action) {
+        Step step = start(name, beanId);
+        try {
+            return action.get();
+        } catch (RuntimeException | Error e) {
+            fail(step);
+            throw e;
+        } finally {
+            end(step);
+        }
+    }
+
+    private long allocatedBytes(Thread thread) {
+        return threadMXBean == null ? -1 : threadMXBean.getThreadAllocatedBytes(thread.getId());
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (allocationMXBean.isThreadAllocatedMemorySupported() && allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationMXBean;
+            }
+        }
+        return null;
+    }
+
+    static class Step {
+        private final String name;
+        private final String beanId;
+        private final Thread thread;
+        private final Step parent;
+        private final long startAllocatedBytes;
+        private final long startNanos;
+        private boolean failed;
+        private long childNanos;
+        private long childAllocatedBytes;
+
+        private Step(String name, String beanId, Thread thread, Step parent, long startAllocatedBytes, long startNanos) {
+            this.name = name;
+            this.beanId = beanId;
+            this.thread = thread;
+            this.parent = parent;
+            this.startAllocatedBytes = startAllocatedBytes;
+            this.startNanos = startNanos;
+        }
+    }
+}
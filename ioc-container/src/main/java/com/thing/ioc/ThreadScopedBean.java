@@ -0,0 +1,35 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanProvider;
+
+import java.util.function.Function;
+
+public class ThreadScopedBean implements BeanProvider {
+    private final BeanCreationPlan creationPlan;
+    private final ThreadLocal<Object> values;
+
+    public ThreadScopedBean(BeanCreationPlan creationPlan, Function<BeanCreationPlan, Object> factory) {
+        this.creationPlan = creationPlan;
+        this.values = ThreadLocal.withInitial(() -> factory.apply(creationPlan));
+    }
+
+    @Override
+    public String getId() {
+        return creationPlan.getId();
+    }
+
+    @Override
+    public Class<?> getType() {
+        return creationPlan.getType();
+    }
+
+    @Override
+    public Object getValue() {
+        return values.get();
+    }
+
+    @Override
+    public boolean isSystem() {
+        return false;
+    }
+}
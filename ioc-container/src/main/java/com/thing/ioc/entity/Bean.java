@@ -1,6 +1,6 @@
 package com.thing.ioc.entity;
 
-public class Bean {
+public class Bean implements BeanProvider {
     private String id;
     private Object value;
     private boolean isSystem;
@@ -10,6 +10,7 @@ public class Bean {
         this.value = value;
     }
 
+    @Override
     public String getId() {
         return id;
     }
@@ -18,6 +19,12 @@ public class Bean {
         this.id = id;
     }
 
+    @Override
+    public Class<?> getType() {
+        return value.getClass();
+    }
+
+    @Override
     public Object getValue() {
         return value;
     }
@@ -26,6 +33,7 @@ public class Bean {
         this.value = value;
     }
 
+    @Override
     public boolean isSystem() {
         return isSystem;
     }
@@ -0,0 +1,121 @@
+package com.thing.ioc.entity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BeanDefinition {
+    public static final String SCOPE_SINGLETON = "singleton";
+    public static final String SCOPE_PROTOTYPE = "prototype";
+    public static final String SCOPE_THREAD = "thread";
+    public static final String SCOPE_POOLED = "pooled";
+
+    private String id;
+    private String className;
+    private Map<String, String> valueDependencies;
+    private Map<String, String> refDependencies;
+    private Set<String> lazyRefDependencies;
+    private List<ConstructorArgument> constructorArguments;
+    private Boolean lazyInit;
+    private String scope = SCOPE_SINGLETON;
+    private Integer poolMinSize;
+    private Integer poolMaxSize;
+    private Duration poolMaxIdle;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public Map<String, String> getValueDependencies() {
+        return valueDependencies;
+    }
+
+    public void setValueDependencies(Map<String, String> valueDependencies) {
+        this.valueDependencies = valueDependencies;
+    }
+
+    public Map<String, String> getRefDependencies() {
+        return refDependencies;
+    }
+
+    public void setRefDependencies(Map<String, String> refDependencies) {
+        this.refDependencies = refDependencies;
+    }
+
+    public Set<String> getLazyRefDependencies() {
+        return lazyRefDependencies;
+    }
+
+    public void setLazyRefDependencies(Set<String> lazyRefDependencies) {
+        this.lazyRefDependencies = lazyRefDependencies;
+    }
+
+    public boolean isLazyRef(String propertyName) {
+        return lazyRefDependencies != null && lazyRefDependencies.contains(propertyName);
+    }
+
+    public List<ConstructorArgument> getConstructorArguments() {
+        return constructorArguments;
+    }
+
+    public void setConstructorArguments(List<ConstructorArgument> constructorArguments) {
+        this.constructorArguments = constructorArguments;
+    }
+
+    public boolean hasConstructorArguments() {
+        return constructorArguments != null && !constructorArguments.isEmpty();
+    }
+
+    public Boolean getLazyInit() {
+        return lazyInit;
+    }
+
+    public void setLazyInit(Boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public Integer getPoolMinSize() {
+        return poolMinSize;
+    }
+
+    public void setPoolMinSize(Integer poolMinSize) {
+        this.poolMinSize = poolMinSize;
+    }
+
+    public Integer getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public void setPoolMaxSize(Integer poolMaxSize) {
+        this.poolMaxSize = poolMaxSize;
+    }
+
+    public Duration getPoolMaxIdle() {
+        return poolMaxIdle;
+    }
+
+    public void setPoolMaxIdle(Duration poolMaxIdle) {
+        this.poolMaxIdle = poolMaxIdle;
+    }
+}
@@ -0,0 +1,11 @@
+package com.thing.ioc.entity;
+
+public interface BeanProvider {
+    String getId();
+
+    Class<?> getType();
+
+    Object getValue();
+
+    boolean isSystem();
+}
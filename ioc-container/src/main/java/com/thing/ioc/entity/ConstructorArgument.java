@@ -0,0 +1,60 @@
+package com.thing.ioc.entity;
+
+import java.util.Objects;
+
+public class ConstructorArgument {
+    private Integer index;
+    private String type;
+    private String value;
+    private String ref;
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConstructorArgument that = (ConstructorArgument) o;
+        return Objects.equals(index, that.index) && Objects.equals(type, that.type)
+                && Objects.equals(value, that.value) && Objects.equals(ref, that.ref);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, type, value, ref);
+    }
+}
@@ -0,0 +1,7 @@
+package com.thing.ioc.event;
+
+public interface ApplicationEventPublisher {
+    void publishEvent(Object event);
+
+    void publishEventAsync(Object event);
+}
@@ -0,0 +1,5 @@
+package com.thing.ioc.event;
+
+public interface ApplicationEventPublisherAware {
+    void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher);
+}
@@ -0,0 +1,5 @@
+package com.thing.ioc.event;
+
+public interface ApplicationListener<E> {
+    void onEvent(E event);
+}
@@ -0,0 +1,340 @@
+package com.thing.ioc.event;
+
+import com.thing.ioc.entity.BeanProvider;
+import com.thing.ioc.reflection.Accessors;
+import com.thing.ioc.reflection.ClassMetadata;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+public class EventBus {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final EventRingBuffer ringBuffer;
+    private final int batchSize;
+    private final AtomicLong deliveredSequence = new AtomicLong();
+    private final LongAdder backPressureWaits = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile ListenerIndex listenerIndex = new ListenerIndex(Collections.<BeanProvider>emptyList());
+    private volatile Thread dispatcher;
+    private volatile boolean dispatcherParked;
+    private volatile boolean closed;
+
+    public EventBus() {
+        this(DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    public EventBus(int queueCapacity, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Event batch size must be positive: " + batchSize);
+        }
+        this.ringBuffer = new EventRingBuffer(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    public void setListeners(List<? extends BeanProvider> beanProviders) {
+        listenerIndex = new ListenerIndex(beanProviders);
+    }
+
+    public int getListenerCount(Class<?> eventType) {
+        return listenerIndex.getListeners(eventType).length;
+    }
+
+    public void publish(Object event) {
+        for (Listener listener : listenerIndex.getListeners(event.getClass())) {
+            try {
+                listener.invoke(event);
+            } catch (Exception e) {
+                e.printStackTrace();
+                throw new RuntimeException("Event listener " + listener.bean.getId() + " failed", e);
+            }
+        }
+    }
+
+    public void publishAsync(Object event) {
+        if (tryPublishAsync(event)) {
+            return;
+        }
+        backPressureWaits.increment();
+        while (!tryPublishAsync(event)) {
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while publishing event: " + event);
+            }
+        }
+    }
+
+    public boolean tryPublishAsync(Object event) {
+        Objects.requireNonNull(event, "event");
+        if (closed) {
+            throw new RuntimeException("Event bus is closed");
+        }
+        Thread dispatcher = this.dispatcher;
+        if (dispatcher == null) {
+            dispatcher = startDispatcher();
+        }
+        if (!ringBuffer.offer(event)) {
+            return false;
+        }
+        if (closed) {
+            drainClosed();
+        } else if (dispatcherParked) {
+            LockSupport.unpark(dispatcher);
+        }
+        return true;
+    }
+
+    private synchronized Thread startDispatcher() {
+        if (dispatcher == null) {
+            Thread thread = new Thread(this::dispatch, "application-event-dispatcher");
+            thread.setDaemon(true);
+            thread.start();
+            dispatcher = thread;
+        }
+        return dispatcher;
+    }
+
+    private void dispatch() {
+        Object[] batch = new Object[batchSize];
+        while (true) {
+            int count = ringBuffer.drainTo(batch);
+            if (count > 0) {
+                deliver(batch, count);
+                continue;
+            }
+            if (closed && ringBuffer.isEmpty()) {
+                return;
+            }
+            dispatcherParked = true;
+            if (ringBuffer.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            dispatcherParked = false;
+        }
+    }
+
+    private void deliver(Object[] batch, int count) {
+        ListenerIndex listenerIndex = this.listenerIndex;
+        for (int i = 0; i < count; i++) {
+            Object event = batch[i];
+            batch[i] = null;
+            for (Listener listener : listenerIndex.getListeners(event.getClass())) {
+                try {
+                    listener.invoke(event);
+                } catch (Exception e) {
+                    failures.increment();
+                    e.printStackTrace();
+                }
+            }
+        }
+        deliveredSequence.lazySet(deliveredSequence.get() + count);
+    }
+
+    public boolean flush(long timeout, TimeUnit unit) {
+        long target = ringBuffer.getPublishedSequence();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (deliveredSequence.get() < target) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        return true;
+    }
+
+    public void close() {
+        closed = true;
+        Thread dispatcher = this.dispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+        LockSupport.unpark(dispatcher);
+        drainClosed();
+    }
+
+    private synchronized void drainClosed() {
+        Thread dispatcher = this.dispatcher;
+        if (dispatcher == Thread.currentThread()) {
+            return;
+        }
+        if (dispatcher != null) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while closing event bus", e);
+            }
+        }
+        Object[] batch = new Object[batchSize];
+        while (!ringBuffer.isEmpty()) {
+            int count = ringBuffer.drainTo(batch);
+            if (count > 0) {
+                deliver(batch, count);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    public long getPendingCount() {
+        return ringBuffer.getPublishedSequence() - deliveredSequence.get();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredSequence.get();
+    }
+
+    public long getBackPressureWaitCount() {
+        return backPressureWaits.sum();
+    }
+
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    public int getQueueCapacity() {
+        return ringBuffer.getCapacity();
+    }
+
+    private static class ListenerIndex {
+        private static final Listener[] NO_LISTENERS = new Listener[0];
+
+        private final Map<Class<?>, List<Listener>> listenersByEventType = new HashMap<>();
+        private final Map<Class<?>, Listener[]> resolvedListeners = new ConcurrentHashMap<>();
+
+        private ListenerIndex(List<? extends BeanProvider> beanProviders) {
+            int order = 0;
+            for (BeanProvider bean : beanProviders) {
+                ClassMetadata metadata = ClassMetadata.forClass(bean.getType());
+                if (metadata.isImplementing(ApplicationListener.class)) {
+                    addListener(new Listener(bean, getListenerEventType(bean.getType()), EventBus::onEvent, order++));
+                }
+                for (Method method : metadata.getEventListenerMethods()) {
+                    if (method.getParameterCount() != 1) {
+                        throw new RuntimeException("Event listener method must have exactly one parameter: " + method);
+                    }
+                    addListener(new Listener(bean, method.getParameterTypes()[0], Accessors.setter(method), order++));
+                }
+            }
+        }
+
+        private void addListener(Listener listener) {
+            listenersByEventType.computeIfAbsent(listener.eventType, key -> new ArrayList<>()).add(listener);
+        }
+
+        private Listener[] getListeners(Class<?> eventType) {
+            Listener[] listeners = resolvedListeners.get(eventType);
+            return listeners == null ? resolvedListeners.computeIfAbsent(eventType, this::resolveListeners) : listeners;
+        }
+
+        private Listener[] resolveListeners(Class<?> eventType) {
+            List<Listener> listeners = new ArrayList<>();
+            for (Class<?> type : ClassMetadata.forClass(eventType).getAssignableTypes()) {
+                listeners.addAll(listenersByEventType.getOrDefault(type, Collections.<Listener>emptyList()));
+            }
+            if (listeners.isEmpty()) {
+                return NO_LISTENERS;
+            }
+            listeners.sort(Comparator.comparingInt(listener -> listener.order));
+            return listeners.toArray(new Listener[0]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void onEvent(Object listener, Object event) {
+        ((ApplicationListener<Object>) listener).onEvent(event);
+    }
+
+    private static Class<?> getListenerEventType(Class<?> listenerType) {
+        Type eventType = findListenerEventType(listenerType, Collections.<TypeVariable<?>, Type>emptyMap());
+        return eventType == null ? Object.class : getRawType(eventType);
+    }
+
+    private static Type findListenerEventType(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        Class<?> rawType;
+        Map<TypeVariable<?>, Type> resolvedArguments = new HashMap<>();
+        if (type instanceof ParameterizedType) {
+            rawType = (Class<?>) ((ParameterizedType) type).getRawType();
+            TypeVariable<?>[] typeParameters = rawType.getTypeParameters();
+            Type[] actualTypeArguments = ((ParameterizedType) type).getActualTypeArguments();
+            for (int i = 0; i < typeParameters.length; i++) {
+                Type actualTypeArgument = actualTypeArguments[i];
+                resolvedArguments.put(typeParameters[i], typeArguments.getOrDefault(actualTypeArgument, actualTypeArgument));
+            }
+        } else if (type instanceof Class) {
+            rawType = (Class<?>) type;
+        } else {
+            return null;
+        }
+
+        if (rawType == ApplicationListener.class) {
+            return resolvedArguments.get(ApplicationListener.class.getTypeParameters()[0]);
+        }
+        List<Type> supertypes = new ArrayList<>(Arrays.asList(rawType.getGenericInterfaces()));
+        if (rawType.getGenericSuperclass() != null) {
+            supertypes.add(rawType.getGenericSuperclass());
+        }
+        for (Type supertype : supertypes) {
+            if (ApplicationListener.class.isAssignableFrom(getRawType(supertype))) {
+                Type eventType = findListenerEventType(supertype, resolvedArguments);
+                if (eventType != null) {
+                    return eventType;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> getRawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof TypeVariable) {
+            return getRawType(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        if (type instanceof WildcardType) {
+            return getRawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(getRawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        return Object.class;
+    }
+
+    private static class Listener {
+        private final BeanProvider bean;
+        private final Class<?> eventType;
+        private final BiConsumer<Object, Object> invoker;
+        private final int order;
+
+        private Listener(BeanProvider bean, Class<?> eventType, BiConsumer<Object, Object> invoker, int order) {
+            this.bean = bean;
+            this.eventType = eventType;
+            this.invoker = invoker;
+            this.order = order;
+        }
+
+        private void invoke(Object event) {
+            invoker.accept(bean.getValue(), event);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.thing.ioc.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+class EventRingBuffer {
+    private final AtomicReferenceArray<Object> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    EventRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Event queue capacity must be positive: " + requestedCapacity);
+        }
+        capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit((requestedCapacity - 1) << 1);
+        mask = capacity - 1;
+        slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    boolean offer(Object event) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.set((int) (sequence & mask), event);
+        return true;
+    }
+
+    int drainTo(Object[] batch) {
+        long sequence = head.get();
+        int count = 0;
+        while (count < batch.length) {
+            int index = (int) ((sequence + count) & mask);
+            Object event = slots.get(index);
+            if (event == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            batch[count++] = event;
+        }
+        if (count > 0) {
+            head.lazySet(sequence + count);
+        }
+        return count;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    long getPublishedSequence() {
+        return tail.get();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,16 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.entity.BeanDefinition;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BeanDefinitionReader {
+    List<BeanDefinition> readBeanDefinitions();
+
+    default List<BeanDefinition> readBeanDefinitions(Consumer<BeanDefinition> listener) {
+        List<BeanDefinition> beanDefinitions = readBeanDefinitions();
+        beanDefinitions.forEach(listener);
+        return beanDefinitions;
+    }
+}
@@ -0,0 +1,159 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.ConstructorArgument;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+
+public class BinaryBeanDefinitionReader implements BeanDefinitionReader {
+    static final int MAGIC = 0x494F4342;
+    static final int VERSION = 4;
+
+    private String cachePath;
+
+    public BinaryBeanDefinitionReader(String cachePath) {
+        this.cachePath = cachePath;
+    }
+
+    @Override
+    public List<BeanDefinition> readBeanDefinitions() {
+        try {
+            ByteBuffer buffer = map();
+            skipSources(buffer);
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+
+            int count = buffer.getInt();
+            List<BeanDefinition> beanDefinitions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BeanDefinition beanDefinition = new BeanDefinition();
+                beanDefinition.setId(lookup(strings, buffer.getInt()));
+                beanDefinition.setClassName(lookup(strings, buffer.getInt()));
+                beanDefinition.setScope(lookup(strings, buffer.getInt()));
+                byte lazyInit = buffer.get();
+                beanDefinition.setLazyInit(lazyInit < 0 ? null : lazyInit == 1);
+                int poolMinSize = buffer.getInt();
+                beanDefinition.setPoolMinSize(poolMinSize < 0 ? null : poolMinSize);
+                int poolMaxSize = buffer.getInt();
+                beanDefinition.setPoolMaxSize(poolMaxSize < 0 ? null : poolMaxSize);
+                long poolMaxIdleNanos = buffer.getLong();
+                beanDefinition.setPoolMaxIdle(poolMaxIdleNanos < 0 ? null : Duration.ofNanos(poolMaxIdleNanos));
+                beanDefinition.setValueDependencies(readDependencies(buffer, strings));
+                beanDefinition.setRefDependencies(readDependencies(buffer, strings));
+                beanDefinition.setLazyRefDependencies(readNames(buffer, strings));
+                beanDefinition.setConstructorArguments(readConstructorArguments(buffer, strings));
+                beanDefinitions.add(beanDefinition);
+            }
+            return beanDefinitions;
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("Read bean definition cache failed: " + cachePath, e);
+        }
+    }
+
+    public boolean isUpToDate(String... sourcePaths) {
+        if (!Files.isRegularFile(Paths.get(cachePath))) {
+            return false;
+        }
+        try {
+            ByteBuffer buffer = map();
+            int count = buffer.getInt();
+            if (count != sourcePaths.length) {
+                return false;
+            }
+            for (String sourcePath : sourcePaths) {
+                Path source = Paths.get(sourcePath);
+                if (!readString(buffer).equals(source.toAbsolutePath().toString())
+                        || buffer.getLong() != Files.getLastModifiedTime(source).toMillis()
+                        || buffer.getLong() != Files.size(source)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private ByteBuffer map() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(cachePath), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported bean definition cache format: " + cachePath);
+            }
+            return buffer;
+        }
+    }
+
+    private void skipSources(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + length + 2 * Long.BYTES);
+        }
+    }
+
+    private Map<String, String> readDependencies(ByteBuffer buffer, String[] strings) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            return null;
+        }
+        Map<String, String> dependencies = new HashMap<>(Math.max(4, count * 4 / 3 + 1));
+        for (int i = 0; i < count; i++) {
+            dependencies.put(lookup(strings, buffer.getInt()), lookup(strings, buffer.getInt()));
+        }
+        return dependencies;
+    }
+
+    private Set<String> readNames(ByteBuffer buffer, String[] strings) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            return null;
+        }
+        Set<String> names = new HashSet<>(Math.max(4, count * 4 / 3 + 1));
+        for (int i = 0; i < count; i++) {
+            names.add(lookup(strings, buffer.getInt()));
+        }
+        return names;
+    }
+
+    private List<ConstructorArgument> readConstructorArguments(ByteBuffer buffer, String[] strings) {
+        int count = buffer.getInt();
+        if (count < 0) {
+            return null;
+        }
+        List<ConstructorArgument> constructorArguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ConstructorArgument constructorArgument = new ConstructorArgument();
+            int index = buffer.getInt();
+            constructorArgument.setIndex(index < 0 ? null : index);
+            constructorArgument.setType(lookup(strings, buffer.getInt()));
+            constructorArgument.setValue(lookup(strings, buffer.getInt()));
+            constructorArgument.setRef(lookup(strings, buffer.getInt()));
+            constructorArguments.add(constructorArgument);
+        }
+        return constructorArguments;
+    }
+
+    private String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String lookup(String[] strings, int index) {
+        return index < 0 ? null : strings[index];
+    }
+}
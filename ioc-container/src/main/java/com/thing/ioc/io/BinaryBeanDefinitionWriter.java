@@ -0,0 +1,174 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.ConstructorArgument;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class BinaryBeanDefinitionWriter {
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: BinaryBeanDefinitionWriter <cache file> <xml file>...");
+            return;
+        }
+        String[] sourcePaths = Arrays.copyOfRange(args, 1, args.length);
+        List<BeanDefinition> beanDefinitions = new XmlBeanDefinitionReader(sourcePaths).readBeanDefinitions();
+        new BinaryBeanDefinitionWriter().write(args[0], beanDefinitions, sourcePaths);
+    }
+
+    public void write(String cachePath, List<BeanDefinition> beanDefinitions, String... sourcePaths) {
+        Path cacheFile = Paths.get(cachePath).toAbsolutePath();
+        Path tmpFile = null;
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            tmpFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                write(outputStream, beanDefinitions, sourcePaths);
+            }
+            Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Write bean definition cache failed", e);
+        } finally {
+            deleteQuietly(tmpFile);
+        }
+    }
+
+    private void write(DataOutputStream outputStream, List<BeanDefinition> beanDefinitions, String[] sourcePaths) throws IOException {
+        stringIndexes.clear();
+        strings.clear();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            index(beanDefinition.getId());
+            index(beanDefinition.getClassName());
+            index(beanDefinition.getScope());
+            indexAll(beanDefinition.getValueDependencies());
+            indexAll(beanDefinition.getRefDependencies());
+            if (beanDefinition.getLazyRefDependencies() != null) {
+                for (String name : beanDefinition.getLazyRefDependencies()) {
+                    index(name);
+                }
+            }
+            if (beanDefinition.getConstructorArguments() != null) {
+                for (ConstructorArgument constructorArgument : beanDefinition.getConstructorArguments()) {
+                    index(constructorArgument.getType());
+                    index(constructorArgument.getValue());
+                    index(constructorArgument.getRef());
+                }
+            }
+        }
+
+        outputStream.writeInt(BinaryBeanDefinitionReader.MAGIC);
+        outputStream.writeInt(BinaryBeanDefinitionReader.VERSION);
+
+        outputStream.writeInt(sourcePaths.length);
+        for (String sourcePath : sourcePaths) {
+            Path source = Paths.get(sourcePath);
+            writeString(outputStream, source.toAbsolutePath().toString());
+            outputStream.writeLong(Files.getLastModifiedTime(source).toMillis());
+            outputStream.writeLong(Files.size(source));
+        }
+
+        outputStream.writeInt(strings.size());
+        for (String string : strings) {
+            writeString(outputStream, string);
+        }
+
+        outputStream.writeInt(beanDefinitions.size());
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            outputStream.writeInt(indexOf(beanDefinition.getId()));
+            outputStream.writeInt(indexOf(beanDefinition.getClassName()));
+            outputStream.writeInt(indexOf(beanDefinition.getScope()));
+            Boolean lazyInit = beanDefinition.getLazyInit();
+            outputStream.writeByte(lazyInit == null ? -1 : lazyInit ? 1 : 0);
+            outputStream.writeInt(beanDefinition.getPoolMinSize() == null ? -1 : beanDefinition.getPoolMinSize());
+            outputStream.writeInt(beanDefinition.getPoolMaxSize() == null ? -1 : beanDefinition.getPoolMaxSize());
+            outputStream.writeLong(beanDefinition.getPoolMaxIdle() == null ? -1 : beanDefinition.getPoolMaxIdle().toNanos());
+            writeDependencies(outputStream, beanDefinition.getValueDependencies());
+            writeDependencies(outputStream, beanDefinition.getRefDependencies());
+            writeNames(outputStream, beanDefinition.getLazyRefDependencies());
+            writeConstructorArguments(outputStream, beanDefinition.getConstructorArguments());
+        }
+    }
+
+    private void writeDependencies(DataOutputStream outputStream, Map<String, String> dependencies) throws IOException {
+        if (dependencies == null) {
+            outputStream.writeInt(-1);
+            return;
+        }
+        outputStream.writeInt(dependencies.size());
+        for (Map.Entry<String, String> entry : dependencies.entrySet()) {
+            outputStream.writeInt(indexOf(entry.getKey()));
+            outputStream.writeInt(indexOf(entry.getValue()));
+        }
+    }
+
+    private void writeNames(DataOutputStream outputStream, Set<String> names) throws IOException {
+        if (names == null) {
+            outputStream.writeInt(-1);
+            return;
+        }
+        outputStream.writeInt(names.size());
+        for (String name : names) {
+            outputStream.writeInt(indexOf(name));
+        }
+    }
+
+    private void writeConstructorArguments(DataOutputStream outputStream, List<ConstructorArgument> constructorArguments) throws IOException {
+        if (constructorArguments == null) {
+            outputStream.writeInt(-1);
+            return;
+        }
+        outputStream.writeInt(constructorArguments.size());
+        for (ConstructorArgument constructorArgument : constructorArguments) {
+            Integer index = constructorArgument.getIndex();
+            outputStream.writeInt(index == null ? -1 : index);
+            outputStream.writeInt(indexOf(constructorArgument.getType()));
+            outputStream.writeInt(indexOf(constructorArgument.getValue()));
+            outputStream.writeInt(indexOf(constructorArgument.getRef()));
+        }
+    }
+
+    private void writeString(DataOutputStream outputStream, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private void indexAll(Map<String, String> dependencies) {
+        if (dependencies != null) {
+            for (Map.Entry<String, String> entry : dependencies.entrySet()) {
+                index(entry.getKey());
+                index(entry.getValue());
+            }
+        }
+    }
+
+    private void index(String string) {
+        if (string != null && !stringIndexes.containsKey(string)) {
+            stringIndexes.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+
+    private int indexOf(String string) {
+        return string == null ? -1 : stringIndexes.get(string);
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ignored) {
+                // a leftover temp file does not affect the cache
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.entity.BeanDefinition;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CachingBeanDefinitionReader implements BeanDefinitionReader {
+    private String cachePath;
+    private String[] paths;
+
+    public CachingBeanDefinitionReader(String cachePath, String... paths) {
+        this.cachePath = cachePath;
+        this.paths = paths;
+    }
+
+    @Override
+    public List<BeanDefinition> readBeanDefinitions() {
+        return readBeanDefinitions(beanDefinition -> {
+        });
+    }
+
+    @Override
+    public List<BeanDefinition> readBeanDefinitions(Consumer<BeanDefinition> listener) {
+        BinaryBeanDefinitionReader binaryReader = new BinaryBeanDefinitionReader(cachePath);
+        if (binaryReader.isUpToDate(paths)) {
+            try {
+                return binaryReader.readBeanDefinitions(listener);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+
+        List<BeanDefinition> beanDefinitions = new XmlBeanDefinitionReader(paths).readBeanDefinitions(listener);
+        try {
+            new BinaryBeanDefinitionWriter().write(cachePath, beanDefinitions, paths);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+        return beanDefinitions;
+    }
+}
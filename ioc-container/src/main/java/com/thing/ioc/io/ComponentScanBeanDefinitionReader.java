@@ -0,0 +1,331 @@
+package com.thing.ioc.io;
+
+import com.thing.annotation.Component;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.ConstructorArgument;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ComponentScanBeanDefinitionReader implements BeanDefinitionReader {
+    public static final String INDEX_LOCATION = "META-INF/ioc.components";
+
+    private static final String COMPONENT_DESCRIPTOR = "L" + Component.class.getName().replace('.', '/') + ";";
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int BATCH_SIZE = 64;
+
+    private String[] basePackages;
+    private ClassLoader classLoader;
+    private Executor executor;
+
+    public ComponentScanBeanDefinitionReader(String... basePackages) {
+        this(ComponentScanBeanDefinitionReader.class.getClassLoader(), ForkJoinPool.commonPool(), basePackages);
+    }
+
+    public ComponentScanBeanDefinitionReader(ClassLoader classLoader, Executor executor, String... basePackages) {
+        this.classLoader = classLoader;
+        this.executor = executor;
+        this.basePackages = basePackages;
+    }
+
+    @Override
+    public List<BeanDefinition> readBeanDefinitions() {
+        List<Class<?>> components = new ArrayList<>();
+        for (String className : findCandidates()) {
+            if (isInBasePackages(className)) {
+                Class<?> clazz = loadClass(className);
+                if (isComponent(clazz)) {
+                    components.add(clazz);
+                }
+            }
+        }
+        return createBeanDefinitions(components);
+    }
+
+    Set<String> findCandidates() {
+        List<JarFile> jarFiles = new ArrayList<>();
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        Set<String> classNames = new TreeSet<>();
+        try {
+            for (String basePackage : basePackages) {
+                String packagePath = basePackage.replace('.', '/');
+                Enumeration<URL> roots = classLoader.getResources(packagePath);
+                while (roots.hasMoreElements()) {
+                    URL root = roots.nextElement();
+                    if ("file".equals(root.getProtocol())) {
+                        Path directory = Paths.get(root.toURI());
+                        Path index = getClassPathRoot(directory, packagePath).resolve(INDEX_LOCATION);
+                        if (Files.isRegularFile(index)) {
+                            try (InputStream inputStream = Files.newInputStream(index)) {
+                                classNames.addAll(readIndex(inputStream));
+                            }
+                        } else {
+                            scanDirectory(directory, basePackage, futures);
+                        }
+                    } else if ("jar".equals(root.getProtocol())) {
+                        JarFile jarFile = new JarFile(new File(((JarURLConnection) root.openConnection()).getJarFileURL().toURI()));
+                        jarFiles.add(jarFile);
+                        JarEntry index = jarFile.getJarEntry(INDEX_LOCATION);
+                        if (index != null) {
+                            try (InputStream inputStream = jarFile.getInputStream(index)) {
+                                classNames.addAll(readIndex(inputStream));
+                            }
+                        } else {
+                            scanJar(jarFile, packagePath + "/", futures);
+                        }
+                    }
+                }
+            }
+
+            for (CompletableFuture<List<String>> future : futures) {
+                classNames.addAll(future.join());
+            }
+            return classNames;
+        } catch (IOException | URISyntaxException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Scan class path failed", e);
+        } catch (CompletionException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Scan class path failed", e.getCause());
+        } finally {
+            for (JarFile jarFile : jarFiles) {
+                try {
+                    jarFile.close();
+                } catch (IOException ignored) {
+                    // nothing was written to the jar
+                }
+            }
+        }
+    }
+
+    static Set<String> readIndex(InputStream inputStream) throws IOException {
+        Set<String> classNames = new TreeSet<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                classNames.add(line);
+            }
+        }
+        return classNames;
+    }
+
+    private static Path getClassPathRoot(Path packageDirectory, String packagePath) {
+        Path classPathRoot = packageDirectory;
+        for (int i = 0; i < packagePath.split("/").length; i++) {
+            classPathRoot = classPathRoot.getParent();
+        }
+        return classPathRoot;
+    }
+
+    private void scanDirectory(Path directory, String basePackage, List<CompletableFuture<List<String>>> futures) throws IOException {
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            classFiles = paths.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        for (int start = 0; start < classFiles.size(); start += BATCH_SIZE) {
+            List<Path> batch = classFiles.subList(start, Math.min(start + BATCH_SIZE, classFiles.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<String> classNames = new ArrayList<>();
+                for (Path classFile : batch) {
+                    try (InputStream inputStream = Files.newInputStream(classFile)) {
+                        if (isComponentCandidate(inputStream)) {
+                            String relativePath = directory.relativize(classFile).toString().replace(File.separatorChar, '.');
+                            classNames.add(basePackage + "." + relativePath.substring(0, relativePath.length() - ".class".length()));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return classNames;
+            }, executor));
+        }
+    }
+
+    private void scanJar(JarFile jarFile, String packagePrefix, List<CompletableFuture<List<String>>> futures) {
+        List<JarEntry> classEntries = new ArrayList<>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            if (entry.getName().startsWith(packagePrefix) && entry.getName().endsWith(".class")) {
+                classEntries.add(entry);
+            }
+        }
+        for (int start = 0; start < classEntries.size(); start += BATCH_SIZE) {
+            List<JarEntry> batch = classEntries.subList(start, Math.min(start + BATCH_SIZE, classEntries.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<String> classNames = new ArrayList<>();
+                for (JarEntry entry : batch) {
+                    try (InputStream inputStream = jarFile.getInputStream(entry)) {
+                        if (isComponentCandidate(inputStream)) {
+                            String name = entry.getName();
+                            classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return classNames;
+            }, executor));
+        }
+    }
+
+    static boolean isComponentCandidate(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != CLASS_MAGIC) {
+            return false;
+        }
+        input.skipBytes(4);
+
+        boolean referencesComponent = false;
+        int constantCount = input.readUnsignedShort();
+        for (int i = 1; i < constantCount; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    referencesComponent |= COMPONENT_DESCRIPTOR.equals(input.readUTF());
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    input.skipBytes(2);
+                    break;
+                case 15:
+                    input.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    input.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    input.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag: " + tag);
+            }
+        }
+        int accessFlags = input.readUnsignedShort();
+        return referencesComponent && (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) == 0;
+    }
+
+    private boolean isInBasePackages(String className) {
+        for (String basePackage : basePackages) {
+            if (className.startsWith(basePackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Component class not found: " + className, e);
+        }
+    }
+
+    private boolean isComponent(Class<?> clazz) {
+        int modifiers = clazz.getModifiers();
+        return clazz.isAnnotationPresent(Component.class)
+                && Modifier.isPublic(modifiers) && !Modifier.isAbstract(modifiers) && !clazz.isInterface()
+                && (clazz.getEnclosingClass() == null || Modifier.isStatic(modifiers));
+    }
+
+    private List<BeanDefinition> createBeanDefinitions(List<Class<?>> components) {
+        Map<String, Class<?>> componentsById = new LinkedHashMap<>();
+        for (Class<?> component : components) {
+            String id = getId(component);
+            Class<?> duplicate = componentsById.putIfAbsent(id, component);
+            if (duplicate != null) {
+                throw new RuntimeException("Duplicate component id " + id + ": " + duplicate.getName() + " and " + component.getName());
+            }
+        }
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        for (Map.Entry<String, Class<?>> entry : componentsById.entrySet()) {
+            BeanDefinition beanDefinition = new BeanDefinition();
+            beanDefinition.setId(entry.getKey());
+            beanDefinition.setClassName(entry.getValue().getName());
+            beanDefinition.setScope(entry.getValue().getAnnotation(Component.class).scope());
+            beanDefinition.setValueDependencies(new HashMap<>());
+            beanDefinition.setRefDependencies(new HashMap<>());
+            beanDefinition.setConstructorArguments(getConstructorArguments(entry.getValue(), componentsById));
+            beanDefinitions.add(beanDefinition);
+        }
+        return beanDefinitions;
+    }
+
+    private String getId(Class<?> component) {
+        String id = component.getAnnotation(Component.class).value();
+        if (!id.isEmpty()) {
+            return id;
+        }
+        String simpleName = component.getSimpleName();
+        return Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+    }
+
+    private List<ConstructorArgument> getConstructorArguments(Class<?> component, Map<String, Class<?>> componentsById) {
+        Constructor<?>[] constructors = component.getConstructors();
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.getParameterCount() == 0) {
+                return new ArrayList<>();
+            }
+        }
+        if (constructors.length != 1) {
+            throw new RuntimeException("Component " + component.getName()
+                    + " must have a public no-arg constructor or a single public constructor");
+        }
+
+        List<ConstructorArgument> constructorArguments = new ArrayList<>();
+        Class<?>[] parameterTypes = constructors[0].getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            List<String> candidates = new ArrayList<>();
+            for (Map.Entry<String, Class<?>> entry : componentsById.entrySet()) {
+                if (parameterTypes[i].isAssignableFrom(entry.getValue())) {
+                    candidates.add(entry.getKey());
+                }
+            }
+            if (candidates.size() != 1) {
+                throw new RuntimeException("Cannot resolve constructor parameter " + i + " of component " + component.getName()
+                        + ": found " + candidates.size() + " components of type " + parameterTypes[i].getName());
+            }
+            ConstructorArgument constructorArgument = new ConstructorArgument();
+            constructorArgument.setIndex(i);
+            constructorArgument.setRef(candidates.get(0));
+            constructorArguments.add(constructorArgument);
+        }
+        return constructorArguments;
+    }
+}
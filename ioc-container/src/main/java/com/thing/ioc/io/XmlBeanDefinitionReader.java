@@ -0,0 +1,213 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.ConstructorArgument;
+import com.thing.ioc.reflection.ValueConverters;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+public class XmlBeanDefinitionReader implements BeanDefinitionReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final SAXParserFactory SAX_PARSER_FACTORY = SAXParserFactory.newInstance();
+    private static final ThreadLocal<SAXParser> SAX_PARSERS = ThreadLocal.withInitial(XmlBeanDefinitionReader::newSAXParser);
+
+    private String[] paths;
+    private Executor executor;
+
+    public XmlBeanDefinitionReader(String... paths) {
+        this(ForkJoinPool.commonPool(), paths);
+    }
+
+    public XmlBeanDefinitionReader(Executor executor, String... paths) {
+        this.executor = executor;
+        this.paths = paths;
+    }
+
+    public String[] getPaths() {
+        return paths.clone();
+    }
+
+    @Override
+    public List<BeanDefinition> readBeanDefinitions() {
+        return readBeanDefinitions(beanDefinition -> {
+        });
+    }
+
+    @Override
+    public List<BeanDefinition> readBeanDefinitions(Consumer<BeanDefinition> listener) {
+        if (paths.length == 1) {
+            return readBeanDefinitions(paths[0], listener);
+        }
+
+        List<CompletableFuture<List<BeanDefinition>>> futures = new ArrayList<>();
+        for (String path : paths) {
+            futures.add(CompletableFuture.supplyAsync(() -> readBeanDefinitions(path, listener), executor));
+        }
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<BeanDefinition>> future : futures) {
+                beanDefinitions.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Read bean definitions failed", e.getCause());
+        }
+        return beanDefinitions;
+    }
+
+    private List<BeanDefinition> readBeanDefinitions(String path, Consumer<BeanDefinition> listener) {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(Paths.get(path)), BUFFER_SIZE)) {
+            return getBeanDefinitions(inputStream, listener);
+        } catch (SAXException | IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Read bean definitions failed", e);
+        }
+    }
+
+    List<BeanDefinition> getBeanDefinitions(InputStream inputStream) throws ParserConfigurationException, SAXException, IOException {
+        return getBeanDefinitions(inputStream, beanDefinition -> {
+        });
+    }
+
+    private List<BeanDefinition> getBeanDefinitions(InputStream inputStream, Consumer<BeanDefinition> listener) throws SAXException, IOException {
+        SAXParser saxParser = SAX_PARSERS.get();
+        XmlHandler handler = new XmlHandler(listener);
+        try {
+            saxParser.parse(inputStream, handler);
+        } finally {
+            saxParser.reset();
+        }
+
+        return handler.getBeanDefinitions();
+    }
+
+    private static SAXParser newSAXParser() {
+        try {
+            synchronized (SAX_PARSER_FACTORY) {
+                return SAX_PARSER_FACTORY.newSAXParser();
+            }
+        } catch (ParserConfigurationException | SAXException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Create SAX parser failed", e);
+        }
+    }
+
+    private static class XmlHandler extends DefaultHandler {
+        private final Consumer<BeanDefinition> listener;
+        private List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        private BeanDefinition tmpBeanDefinition;
+        private Map<String, String> tmpValueDependencies;
+        private Map<String, String> tmpRefDependencies;
+        private Set<String> tmpLazyRefDependencies;
+        private List<ConstructorArgument> tmpConstructorArguments;
+
+        private XmlHandler(Consumer<BeanDefinition> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if ("bean".equalsIgnoreCase(qName)){
+                tmpBeanDefinition = new BeanDefinition();
+                tmpBeanDefinition.setId(attributes.getValue("id"));
+                tmpBeanDefinition.setClassName(attributes.getValue("class"));
+                String scope = attributes.getValue("scope");
+                if (scope != null) {
+                    tmpBeanDefinition.setScope(scope);
+                }
+                String lazyInit = attributes.getValue("lazy-init");
+                if (lazyInit != null) {
+                    tmpBeanDefinition.setLazyInit(Boolean.valueOf(lazyInit));
+                }
+                String poolMinSize = attributes.getValue("pool-min-size");
+                if (poolMinSize != null) {
+                    tmpBeanDefinition.setPoolMinSize(ValueConverters.parseInt(poolMinSize));
+                }
+                String poolMaxSize = attributes.getValue("pool-max-size");
+                if (poolMaxSize != null) {
+                    tmpBeanDefinition.setPoolMaxSize(ValueConverters.parseInt(poolMaxSize));
+                }
+                String poolMaxIdle = attributes.getValue("pool-max-idle");
+                if (poolMaxIdle != null) {
+                    tmpBeanDefinition.setPoolMaxIdle(ValueConverters.parseDuration(poolMaxIdle));
+                }
+                tmpValueDependencies = new HashMap<>();
+                tmpRefDependencies = new HashMap<>();
+                tmpLazyRefDependencies = new HashSet<>();
+                tmpConstructorArguments = new ArrayList<>();
+            }
+
+            if ("constructor-arg".equalsIgnoreCase(qName)) {
+                ConstructorArgument constructorArgument = new ConstructorArgument();
+                String index = attributes.getValue("index");
+                if (index != null) {
+                    constructorArgument.setIndex(Integer.valueOf(index));
+                }
+                constructorArgument.setType(attributes.getValue("type"));
+                constructorArgument.setValue(attributes.getValue("value"));
+                constructorArgument.setRef(attributes.getValue("ref"));
+                tmpConstructorArguments.add(constructorArgument);
+            }
+
+            if ("property".equalsIgnoreCase(qName)) {
+                String name = attributes.getValue("name");
+                String value = attributes.getValue("value");
+                String ref = attributes.getValue("ref");
+
+                if (ref == null){
+                    tmpValueDependencies.put(name, value);
+                } else {
+                    tmpRefDependencies.put(name, ref);
+                    if (Boolean.parseBoolean(attributes.getValue("lazy"))) {
+                        tmpLazyRefDependencies.add(name);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if ("bean".equalsIgnoreCase(qName)) {
+                tmpBeanDefinition.setValueDependencies(tmpValueDependencies);
+                tmpBeanDefinition.setRefDependencies(tmpRefDependencies);
+                tmpBeanDefinition.setLazyRefDependencies(tmpLazyRefDependencies);
+                tmpBeanDefinition.setConstructorArguments(tmpConstructorArguments);
+                beanDefinitions.add(tmpBeanDefinition);
+                listener.accept(tmpBeanDefinition);
+                tmpBeanDefinition = null;
+                tmpValueDependencies = null;
+                tmpRefDependencies = null;
+                tmpLazyRefDependencies = null;
+                tmpConstructorArguments = null;
+            }
+        }
+
+        public List<BeanDefinition> getBeanDefinitions() {
+            return beanDefinitions;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.thing.ioc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+    private static final int BUCKET_COUNT = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int bucket = nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+        buckets[Math.min(bucket, BUCKET_COUNT - 1)].increment();
+    }
+
+    public long[] getCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public long getPercentileNanos(double percentile) {
+        long[] counts = getCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return getUpperBoundNanos(i);
+            }
+        }
+        return getUpperBoundNanos(BUCKET_COUNT - 1);
+    }
+
+    public static long getUpperBoundNanos(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.thing.ioc.metrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LookupMetrics implements LookupMetricsMXBean {
+    public static final String DOMAIN = "com.thing.ioc";
+    public static final int DEFAULT_LATENCY_SAMPLE_INTERVAL = 16;
+
+    private final ConcurrentMap<String, LongAdder> lookupsById = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, LongAdder> lookupsByType = new ConcurrentHashMap<>();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder exceptions = new LongAdder();
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final int latencySampleInterval;
+    private ObjectName objectName;
+
+    public LookupMetrics() {
+        this(DEFAULT_LATENCY_SAMPLE_INTERVAL);
+    }
+
+    public LookupMetrics(int latencySampleInterval) {
+        if (latencySampleInterval < 1) {
+            throw new IllegalArgumentException("Latency sample interval must be positive: " + latencySampleInterval);
+        }
+        this.latencySampleInterval = latencySampleInterval;
+    }
+
+    public long startTimer() {
+        if (latencySampleInterval > 1 && ThreadLocalRandom.current().nextInt(latencySampleInterval) != 0) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    public void recordLookup(String id, long startNanos) {
+        counter(lookupsById, id).increment();
+        recordLatency(startNanos);
+    }
+
+    public void recordLookup(Class<?> type, long startNanos) {
+        counter(lookupsByType, type).increment();
+        recordLatency(startNanos);
+    }
+
+    private void recordLatency(long startNanos) {
+        if (startNanos != 0) {
+            latencyHistogram.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordException() {
+        exceptions.increment();
+    }
+
+    private static <K> LongAdder counter(ConcurrentMap<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        return counter == null ? counters.computeIfAbsent(key, ignored -> new LongAdder()) : counter;
+    }
+
+    public synchronized ObjectName register(String contextName) {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName(DOMAIN + ":type=LookupMetrics,name=" + ObjectName.quote(contextName));
+            mBeanServer.registerMBean(this, objectName);
+            return objectName;
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Register lookup metrics failed: " + contextName, e);
+        }
+    }
+
+    public synchronized void unregister() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Unregister lookup metrics failed: " + objectName, e);
+        }
+    }
+
+    @Override
+    public long getLookupCount() {
+        long lookupCount = 0;
+        for (LongAdder counter : lookupsById.values()) {
+            lookupCount += counter.sum();
+        }
+        for (LongAdder counter : lookupsByType.values()) {
+            lookupCount += counter.sum();
+        }
+        return lookupCount;
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getExceptionCount() {
+        return exceptions.sum();
+    }
+
+    @Override
+    public Map<String, Long> getLookupCountsById() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : lookupsById.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getLookupCountsByType() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<Class<?>, LongAdder> entry : lookupsByType.entrySet()) {
+            counts.put(entry.getKey().getName(), entry.getValue().sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.getCounts();
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latencyHistogram.getPercentileNanos(50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latencyHistogram.getPercentileNanos(99);
+    }
+
+    @Override
+    public long getLatencyP999Nanos() {
+        return latencyHistogram.getPercentileNanos(99.9);
+    }
+
+    @Override
+    public void reset() {
+        lookupsById.clear();
+        lookupsByType.clear();
+        misses.reset();
+        exceptions.reset();
+        latencyHistogram.reset();
+    }
+}
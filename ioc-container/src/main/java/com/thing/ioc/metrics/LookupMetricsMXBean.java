@@ -0,0 +1,25 @@
+package com.thing.ioc.metrics;
+
+import java.util.Map;
+
+public interface LookupMetricsMXBean {
+    long getLookupCount();
+
+    long getMissCount();
+
+    long getExceptionCount();
+
+    Map<String, Long> getLookupCountsById();
+
+    Map<String, Long> getLookupCountsByType();
+
+    long[] getLatencyHistogram();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+
+    long getLatencyP999Nanos();
+
+    void reset();
+}
@@ -0,0 +1,86 @@
+package com.thing.ioc.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+public class PoolMetrics {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final IntSupplier size;
+    private final IntSupplier idleCount;
+
+    public PoolMetrics(IntSupplier size, IntSupplier idleCount) {
+        this.size = size;
+        this.idleCount = idleCount;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordWait(long nanos) {
+        waits.increment();
+        waitNanos.add(nanos);
+    }
+
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getWaitCount() {
+        return waits.sum();
+    }
+
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int getSize() {
+        return size.getAsInt();
+    }
+
+    public int getIdleCount() {
+        return idleCount.getAsInt();
+    }
+
+    public int getBorrowedCount() {
+        return Math.max(0, size.getAsInt() - idleCount.getAsInt());
+    }
+
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        waits.reset();
+        waitNanos.reset();
+        timeouts.reset();
+        evictions.reset();
+    }
+}
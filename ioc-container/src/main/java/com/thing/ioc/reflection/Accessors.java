@@ -0,0 +1,157 @@
+package com.thing.ioc.reflection;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class Accessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private Accessors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Supplier<Object> instantiator(Class<?> clazz) {
+        try {
+            MethodHandle constructor = LOOKUP.findConstructor(clazz, MethodType.methodType(void.class));
+            if (isVisible(clazz)) {
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "get",
+                        MethodType.methodType(Supplier.class), MethodType.methodType(Object.class),
+                        constructor, MethodType.methodType(clazz));
+                return (Supplier<Object>) callSite.getTarget().invokeExact();
+            }
+            MethodHandle genericConstructor = constructor.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return genericConstructor.invokeExact();
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } catch (Throwable e) {
+            throw new RuntimeException("No accessible no-arg constructor for " + clazz.getName(), e);
+        }
+    }
+
+    public static Function<Object[], Object> instantiator(Constructor<?> constructor) {
+        try {
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return arguments -> {
+                try {
+                    return handle.invokeExact(arguments);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Constructor is not accessible: " + constructor, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> setter(Method method) {
+        try {
+            MethodHandle setter = LOOKUP.unreflect(method);
+            Class<?> type = method.getParameterTypes()[0];
+            if (isVisible(method.getDeclaringClass()) && isVisible(type)) {
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(BiConsumer.class), SETTER_TYPE,
+                        setter, MethodType.methodType(void.class, method.getDeclaringClass(), wrap(type)));
+                return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+            }
+            MethodHandle genericSetter = setter.asType(SETTER_TYPE);
+            return (target, value) -> {
+                try {
+                    genericSetter.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } catch (Throwable e) {
+            throw new RuntimeException("Setter is not accessible: " + method, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Consumer<Object> invoker(Method method) {
+        try {
+            MethodHandle invoker = LOOKUP.unreflect(method);
+            if (isVisible(method.getDeclaringClass()) && isVisible(method.getReturnType())) {
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                        MethodType.methodType(Consumer.class), MethodType.methodType(void.class, Object.class),
+                        invoker, MethodType.methodType(void.class, method.getDeclaringClass()));
+                return (Consumer<Object>) callSite.getTarget().invokeExact();
+            }
+            MethodHandle genericInvoker = invoker.asType(MethodType.methodType(void.class, Object.class));
+            return target -> {
+                try {
+                    genericInvoker.invokeExact(target);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } catch (Throwable e) {
+            throw new RuntimeException("Method is not accessible: " + method, e);
+        }
+    }
+
+    public static Function<Object, Object> function(Method method) {
+        try {
+            MethodHandle function = LOOKUP.unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return function.invokeExact(target);
+                } catch (Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Method is not accessible: " + method, e);
+        }
+    }
+
+    public static MethodHandle primitiveSetter(Method method) {
+        try {
+            Class<?> type = method.getParameterTypes()[0];
+            return LOOKUP.unreflect(method).asType(MethodType.methodType(void.class, Object.class, type));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("Setter is not accessible: " + method, e);
+        }
+    }
+
+    static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new RuntimeException(e);
+    }
+
+    private static boolean isVisible(Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(clazz.getName(), false, Accessors.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
@@ -0,0 +1,43 @@
+package com.thing.ioc.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+public class BeanConstructor {
+    private final Constructor<?> constructor;
+    private final Class<?>[] parameterTypes;
+    private final Type[] genericParameterTypes;
+    private volatile Function<Object[], Object> instantiator;
+
+    BeanConstructor(Constructor<?> constructor) {
+        this.constructor = constructor;
+        this.parameterTypes = constructor.getParameterTypes();
+        this.genericParameterTypes = constructor.getGenericParameterTypes();
+    }
+
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    public int getParameterCount() {
+        return parameterTypes.length;
+    }
+
+    public Class<?> getParameterType(int index) {
+        return parameterTypes[index];
+    }
+
+    public Object convert(int index, String value) {
+        return ValueConverters.forType(genericParameterTypes[index]).apply(value);
+    }
+
+    public Object newInstance(Object[] arguments) {
+        Function<Object[], Object> instantiator = this.instantiator;
+        if (instantiator == null) {
+            instantiator = Accessors.instantiator(constructor);
+            this.instantiator = instantiator;
+        }
+        return instantiator.apply(arguments);
+    }
+}
@@ -0,0 +1,251 @@
+package com.thing.ioc.reflection;
+
+import com.thing.annotation.EventListener;
+import com.thing.annotation.PostConstruct;
+import com.thing.annotation.PreDestroy;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ClassMetadata {
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Set<Class<?>> assignableTypes;
+    private final Map<String, PropertySetter> setters;
+    private final List<Method> postConstructMethods;
+    private final List<Method> preDestroyMethods;
+    private final List<Method> eventListenerMethods;
+    private final List<BeanConstructor> constructors;
+    private final Map<String, BeanConstructor> resolvedConstructors = new ConcurrentHashMap<>();
+    private volatile Supplier<Object> instantiator;
+    private volatile List<Consumer<Object>> postConstructInvokers;
+    private volatile List<Function<Object, Object>> asyncPostConstructInvokers;
+    private volatile List<Consumer<Object>> preDestroyInvokers;
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+        this.assignableTypes = Collections.unmodifiableSet(collectAssignableTypes(type, new LinkedHashSet<>()));
+
+        Map<String, PropertySetter> setters = new HashMap<>();
+        List<Method> postConstructMethods = new ArrayList<>();
+        List<Method> preDestroyMethods = new ArrayList<>();
+        List<Method> eventListenerMethods = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (method.getName().startsWith("set") && method.getParameterCount() == 1) {
+                setters.putIfAbsent(method.getName(), new PropertySetter(method));
+            }
+            if (method.isAnnotationPresent(PostConstruct.class)) {
+                postConstructMethods.add(method);
+            }
+            if (method.isAnnotationPresent(PreDestroy.class)) {
+                preDestroyMethods.add(method);
+            }
+            if (method.isAnnotationPresent(EventListener.class)) {
+                eventListenerMethods.add(method);
+            }
+        }
+        this.setters = Collections.unmodifiableMap(setters);
+        this.postConstructMethods = Collections.unmodifiableList(postConstructMethods);
+        this.preDestroyMethods = Collections.unmodifiableList(preDestroyMethods);
+        this.eventListenerMethods = Collections.unmodifiableList(eventListenerMethods);
+
+        List<BeanConstructor> constructors = new ArrayList<>();
+        for (Constructor<?> constructor : type.getConstructors()) {
+            constructors.add(new BeanConstructor(constructor));
+        }
+        this.constructors = Collections.unmodifiableList(constructors);
+    }
+
+    public static ClassMetadata forClass(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Object newInstance() {
+        Supplier<Object> instantiator = this.instantiator;
+        if (instantiator == null) {
+            instantiator = Accessors.instantiator(type);
+            this.instantiator = instantiator;
+        }
+        return instantiator.get();
+    }
+
+    public Set<Class<?>> getAssignableTypes() {
+        return assignableTypes;
+    }
+
+    public boolean isImplementing(Class<?> implementedClazz) {
+        return assignableTypes.contains(implementedClazz);
+    }
+
+    public PropertySetter getSetter(String propertyName) {
+        return setters.get("set" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1));
+    }
+
+    public List<BeanConstructor> getConstructors() {
+        return constructors;
+    }
+
+    public BeanConstructor resolveConstructor(String[] typeNames, Class<?>[] argumentTypes) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < typeNames.length; i++) {
+            key.append(typeNames[i]).append(':')
+                    .append(argumentTypes[i] == null ? null : argumentTypes[i].getName()).append(',');
+        }
+        return resolvedConstructors.computeIfAbsent(key.toString(), ignored -> selectConstructor(typeNames, argumentTypes));
+    }
+
+    private BeanConstructor selectConstructor(String[] typeNames, Class<?>[] argumentTypes) {
+        List<BeanConstructor> candidates = new ArrayList<>();
+        for (BeanConstructor constructor : constructors) {
+            if (isMatching(constructor, typeNames, argumentTypes)) {
+                candidates.add(constructor);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new RuntimeException("No public constructor of " + type.getName() + " matches "
+                    + typeNames.length + " constructor arguments");
+        }
+
+        List<BeanConstructor> mostSpecific = new ArrayList<>();
+        for (BeanConstructor candidate : candidates) {
+            boolean isMostSpecific = true;
+            for (BeanConstructor other : candidates) {
+                isMostSpecific &= other == candidate || isMoreSpecific(candidate, other);
+            }
+            if (isMostSpecific) {
+                mostSpecific.add(candidate);
+            }
+        }
+        if (mostSpecific.size() != 1) {
+            throw new RuntimeException("Ambiguous constructor arguments for " + type.getName()
+                    + ", specify type of constructor-arg to choose one of " + candidates.size() + " constructors");
+        }
+        return mostSpecific.get(0);
+    }
+
+    private boolean isMatching(BeanConstructor constructor, String[] typeNames, Class<?>[] argumentTypes) {
+        if (constructor.getParameterCount() != typeNames.length) {
+            return false;
+        }
+        for (int i = 0; i < typeNames.length; i++) {
+            Class<?> parameterType = constructor.getParameterType(i);
+            if (typeNames[i] != null && !typeNames[i].equals(parameterType.getName())
+                    && !typeNames[i].equals(parameterType.getSimpleName())) {
+                return false;
+            }
+            if (argumentTypes[i] != null && !wrap(parameterType).isAssignableFrom(argumentTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isMoreSpecific(BeanConstructor constructor, BeanConstructor other) {
+        for (int i = 0; i < constructor.getParameterCount(); i++) {
+            if (!other.getParameterType(i).isAssignableFrom(constructor.getParameterType(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    public List<Method> getPostConstructMethods() {
+        return postConstructMethods;
+    }
+
+    public List<Consumer<Object>> getPostConstructInvokers() {
+        List<Consumer<Object>> postConstructInvokers = this.postConstructInvokers;
+        if (postConstructInvokers == null) {
+            postConstructInvokers = new ArrayList<>();
+            for (Method method : postConstructMethods) {
+                if (!isAsync(method)) {
+                    postConstructInvokers.add(Accessors.invoker(method));
+                }
+            }
+            postConstructInvokers = Collections.unmodifiableList(postConstructInvokers);
+            this.postConstructInvokers = postConstructInvokers;
+        }
+        return postConstructInvokers;
+    }
+
+    public List<Function<Object, Object>> getAsyncPostConstructInvokers() {
+        List<Function<Object, Object>> asyncPostConstructInvokers = this.asyncPostConstructInvokers;
+        if (asyncPostConstructInvokers == null) {
+            asyncPostConstructInvokers = new ArrayList<>();
+            for (Method method : postConstructMethods) {
+                if (isAsync(method)) {
+                    asyncPostConstructInvokers.add(Accessors.function(method));
+                }
+            }
+            asyncPostConstructInvokers = Collections.unmodifiableList(asyncPostConstructInvokers);
+            this.asyncPostConstructInvokers = asyncPostConstructInvokers;
+        }
+        return asyncPostConstructInvokers;
+    }
+
+    public List<Method> getPreDestroyMethods() {
+        return preDestroyMethods;
+    }
+
+    public List<Method> getEventListenerMethods() {
+        return eventListenerMethods;
+    }
+
+    public List<Consumer<Object>> getPreDestroyInvokers() {
+        List<Consumer<Object>> preDestroyInvokers = this.preDestroyInvokers;
+        if (preDestroyInvokers == null) {
+            preDestroyInvokers = new ArrayList<>();
+            for (Method method : preDestroyMethods) {
+                preDestroyInvokers.add(Accessors.invoker(method));
+            }
+            preDestroyInvokers = Collections.unmodifiableList(preDestroyInvokers);
+            this.preDestroyInvokers = preDestroyInvokers;
+        }
+        return preDestroyInvokers;
+    }
+
+    public boolean hasAsyncPostConstructMethods() {
+        for (Method method : postConstructMethods) {
+            if (isAsync(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isAsync(Method postConstructMethod) {
+        return postConstructMethod.getAnnotation(PostConstruct.class).async()
+                || CompletionStage.class.isAssignableFrom(postConstructMethod.getReturnType());
+    }
+
+    private static Set<Class<?>> collectAssignableTypes(Class<?> clazz, Set<Class<?>> types) {
+        if (clazz != null && types.add(clazz)) {
+            collectAssignableTypes(clazz.getSuperclass(), types);
+            for (Class<?> anInterface : clazz.getInterfaces()) {
+                collectAssignableTypes(anInterface, types);
+            }
+        }
+        return types;
+    }
+}
@@ -0,0 +1,119 @@
+package com.thing.ioc.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public class PropertySetter {
+    private final Method method;
+    private final Class<?> type;
+    private final Type genericType;
+    private volatile ConverterHolder converter;
+    private volatile BiConsumer<Object, Object> accessor;
+    private volatile MethodHandle primitiveAccessor;
+
+    PropertySetter(Method method) {
+        this.method = method;
+        this.type = method.getParameterTypes()[0];
+        this.genericType = method.getGenericParameterTypes()[0];
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public Type getGenericType() {
+        return genericType;
+    }
+
+    public Object convert(String value) {
+        return getConverter().apply(value);
+    }
+
+    public void inject(Object target, Object value) {
+        getAccessor().accept(target, value);
+    }
+
+    public void injectValue(Object target, String value) {
+        injectConverted(target, convert(value));
+    }
+
+    /**
+     * Injects a value produced by {@link #convert(String)}. Converters return boxed values, so for a primitive
+     * setter the value is unboxed here and passed through an exact-typed MethodHandle. A value converted once
+     * and cached by a creation plan is unboxed on every injection but not re-allocated.
+     */
+    public void injectConverted(Object target, Object value) {
+        if (!type.isPrimitive()) {
+            inject(target, value);
+            return;
+        }
+
+        MethodHandle setter = getPrimitiveAccessor();
+        try {
+            if (type == int.class) {
+                setter.invokeExact(target, (int) (Integer) value);
+            } else if (type == long.class) {
+                setter.invokeExact(target, (long) (Long) value);
+            } else if (type == double.class) {
+                setter.invokeExact(target, (double) (Double) value);
+            } else if (type == boolean.class) {
+                setter.invokeExact(target, (boolean) (Boolean) value);
+            } else if (type == float.class) {
+                setter.invokeExact(target, (float) (Float) value);
+            } else if (type == byte.class) {
+                setter.invokeExact(target, (byte) (Byte) value);
+            } else if (type == short.class) {
+                setter.invokeExact(target, (short) (Short) value);
+            } else {
+                setter.invokeExact(target, (char) (Character) value);
+            }
+        } catch (Throwable e) {
+            throw Accessors.rethrow(e);
+        }
+    }
+
+    private Function<String, Object> getConverter() {
+        ConverterHolder converter = this.converter;
+        int version = ValueConverters.getVersion();
+        if (converter == null || converter.version != version) {
+            converter = new ConverterHolder(version, ValueConverters.forType(genericType));
+            this.converter = converter;
+        }
+        return converter.function;
+    }
+
+    private BiConsumer<Object, Object> getAccessor() {
+        BiConsumer<Object, Object> accessor = this.accessor;
+        if (accessor == null) {
+            accessor = Accessors.setter(method);
+            this.accessor = accessor;
+        }
+        return accessor;
+    }
+
+    private MethodHandle getPrimitiveAccessor() {
+        MethodHandle primitiveAccessor = this.primitiveAccessor;
+        if (primitiveAccessor == null) {
+            primitiveAccessor = Accessors.primitiveSetter(method);
+            this.primitiveAccessor = primitiveAccessor;
+        }
+        return primitiveAccessor;
+    }
+
+    private static class ConverterHolder {
+        private final int version;
+        private final Function<String, Object> function;
+
+        private ConverterHolder(int version, Function<String, Object> function) {
+            this.version = version;
+            this.function = function;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.thing.ioc.reflection;
+
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class ValueConverters {
+    private static final Map<Class<?>, Function<String, ?>> CONVERTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<>();
+    private static final Map<Class<?>, Class<?>> WRAPPER_TYPES = new HashMap<>();
+    private static final AtomicInteger VERSION = new AtomicInteger();
+
+    static {
+        addPrimitive(int.class, Integer.class);
+        addPrimitive(long.class, Long.class);
+        addPrimitive(double.class, Double.class);
+        addPrimitive(byte.class, Byte.class);
+        addPrimitive(short.class, Short.class);
+        addPrimitive(boolean.class, Boolean.class);
+        addPrimitive(float.class, Float.class);
+        addPrimitive(char.class, Character.class);
+
+        CONVERTERS.put(Integer.class, ValueConverters::parseInt);
+        CONVERTERS.put(Long.class, ValueConverters::parseLong);
+        CONVERTERS.put(Double.class, value -> Double.parseDouble(stripUnderscores(value)));
+        CONVERTERS.put(Byte.class, value -> (byte) parseInRange(value, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        CONVERTERS.put(Short.class, value -> (short) parseInRange(value, Short.MIN_VALUE, Short.MAX_VALUE));
+        CONVERTERS.put(Boolean.class, value -> Boolean.parseBoolean(value.trim()));
+        CONVERTERS.put(Float.class, value -> Float.parseFloat(stripUnderscores(value)));
+        CONVERTERS.put(Character.class, ValueConverters::parseChar);
+        CONVERTERS.put(String.class, value -> value);
+        CONVERTERS.put(BigInteger.class, value -> new BigInteger(stripUnderscores(value)));
+        CONVERTERS.put(BigDecimal.class, value -> new BigDecimal(stripUnderscores(value)));
+        CONVERTERS.put(Duration.class, ValueConverters::parseDuration);
+    }
+
+    private ValueConverters() {
+    }
+
+    private static void addPrimitive(Class<?> primitiveType, Class<?> wrapperType) {
+        PRIMITIVE_TYPES.put(primitiveType.getName(), primitiveType);
+        WRAPPER_TYPES.put(primitiveType, wrapperType);
+    }
+
+    public static <T> void register(Class<T> type, Function<String, ? extends T> converter) {
+        CONVERTERS.put(wrap(type), converter);
+        VERSION.incrementAndGet();
+    }
+
+    static int getVersion() {
+        return VERSION.get();
+    }
+
+    public static Function<String, Object> forType(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+            if (Collection.class.isAssignableFrom(rawType)) {
+                return forCollection(rawType, parameterizedType.getActualTypeArguments()[0]);
+            }
+            return forType(rawType);
+        }
+        if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            return forArray(toClass(componentType), componentType);
+        }
+        return forClass(toClass(type));
+    }
+
+    public static Function<String, Object> forTypeName(String typeName) {
+        Class<?> primitiveType = PRIMITIVE_TYPES.get(typeName);
+        return primitiveType == null ? value -> value : forClass(primitiveType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<String, Object> forClass(Class<?> type) {
+        Function<String, ?> converter = CONVERTERS.get(wrap(type));
+        if (converter != null) {
+            return (Function<String, Object>) converter;
+        }
+        if (type.isEnum()) {
+            return value -> parseEnum(type, value);
+        }
+        if (type.isArray()) {
+            return forArray(type.getComponentType(), type.getComponentType());
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return forCollection(type, String.class);
+        }
+        if (type.isAssignableFrom(String.class)) {
+            return value -> value;
+        }
+        try {
+            Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers()) && type.isAssignableFrom(valueOf.getReturnType())) {
+                return value -> invoke(valueOf, value);
+            }
+        } catch (NoSuchMethodException ignored) {
+        }
+        try {
+            Constructor<?> constructor = type.getConstructor(String.class);
+            return value -> newInstance(constructor, value);
+        } catch (NoSuchMethodException ignored) {
+        }
+        return value -> {
+            throw new IllegalArgumentException("No converter registered for type: " + type.getName());
+        };
+    }
+
+    private static Object invoke(Method valueOf, String value) {
+        try {
+            return valueOf.invoke(null, value);
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Convert value '" + value + "' failed", e);
+        }
+    }
+
+    private static Object newInstance(Constructor<?> constructor, String value) {
+        try {
+            return constructor.newInstance(value);
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException("Convert value '" + value + "' failed", e);
+        }
+    }
+
+    private static Function<String, Object> forArray(Class<?> componentType, Type genericComponentType) {
+        Function<String, Object> elementConverter = forType(genericComponentType);
+        return value -> {
+            List<String> elements = split(value);
+            Object array = Array.newInstance(componentType, elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, elementConverter.apply(elements.get(i)));
+            }
+            return array;
+        };
+    }
+
+    private static Function<String, Object> forCollection(Class<?> collectionType, Type elementType) {
+        Function<String, Object> elementConverter = forType(elementType);
+        return value -> {
+            Collection<Object> collection = newCollection(collectionType);
+            for (String element : split(value)) {
+                collection.add(elementConverter.apply(element));
+            }
+            return collection;
+        };
+    }
+
+    private static Collection<Object> newCollection(Class<?> collectionType) {
+        if (collectionType.isAssignableFrom(ArrayList.class)) {
+            return new ArrayList<>();
+        }
+        if (collectionType.isAssignableFrom(LinkedHashSet.class)) {
+            return new LinkedHashSet<>();
+        }
+        if (collectionType.isAssignableFrom(TreeSet.class)) {
+            return new TreeSet<>();
+        }
+        throw new IllegalArgumentException("Unsupported collection type: " + collectionType.getName());
+    }
+
+    public static Object copyIfMutable(Object value) {
+        if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        if (value instanceof ArrayList) {
+            return new ArrayList<>((ArrayList<?>) value);
+        }
+        if (value instanceof TreeSet) {
+            return new TreeSet<>((TreeSet<?>) value);
+        }
+        if (value instanceof LinkedHashSet) {
+            return new LinkedHashSet<>((LinkedHashSet<?>) value);
+        }
+        return value;
+    }
+
+    private static List<String> split(String value) {
+        List<String> elements = new ArrayList<>();
+        if (value.trim().isEmpty()) {
+            return elements;
+        }
+        for (String element : value.split(",")) {
+            elements.add(element.trim());
+        }
+        return elements;
+    }
+
+    private static Class<?> toClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(toClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        return String.class;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        Class<?> wrapperType = WRAPPER_TYPES.get(type);
+        return wrapperType == null ? type : wrapperType;
+    }
+
+    public static int parseInt(String value) {
+        return (int) parseInRange(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static long parseLong(String value) {
+        String number = stripUnderscores(value);
+        boolean negative = number.startsWith("-");
+        int start = negative || number.startsWith("+") ? 1 : 0;
+        int radix = 10;
+        if (number.startsWith("0x", start) || number.startsWith("0X", start)) {
+            radix = 16;
+            start += 2;
+        } else if (number.startsWith("0b", start) || number.startsWith("0B", start)) {
+            radix = 2;
+            start += 2;
+        }
+        String digits = number.substring(start);
+        if (digits.isEmpty() || digits.startsWith("-") || digits.startsWith("+")) {
+            throw new NumberFormatException("Invalid number: " + value);
+        }
+        return Long.parseLong(negative ? "-" + digits : digits, radix);
+    }
+
+    private static long parseInRange(String value, long min, long max) {
+        long number = parseLong(value);
+        if (number < min || number > max) {
+            throw new NumberFormatException("Value out of range: " + value);
+        }
+        return number;
+    }
+
+    private static String stripUnderscores(String value) {
+        String trimmed = value.trim();
+        return trimmed.indexOf('_') < 0 ? trimmed : trimmed.replace("_", "");
+    }
+
+    public static char parseChar(String value) {
+        char[] array = value.toCharArray();
+        if (array.length == 1) {
+            return array[0];
+        } else {
+            throw new IllegalArgumentException("Too much symbols in char value");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parseEnum(Class<?> type, String value) {
+        String name = value.trim();
+        for (Object constant : type.getEnumConstants()) {
+            if (((Enum) constant).name().equals(name)) {
+                return constant;
+            }
+        }
+        for (Object constant : type.getEnumConstants()) {
+            if (((Enum) constant).name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + type.getName() + "." + name);
+    }
+
+    public static Duration parseDuration(String value) {
+        String duration = value.trim();
+        if (duration.startsWith("P") || duration.startsWith("-P") || duration.startsWith("p")) {
+            return Duration.parse(duration);
+        }
+        int unitStart = 0;
+        while (unitStart < duration.length() && (Character.isDigit(duration.charAt(unitStart))
+                || (unitStart == 0 && duration.charAt(0) == '-') || duration.charAt(unitStart) == '_')) {
+            unitStart++;
+        }
+        long amount = parseLong(duration.substring(0, unitStart));
+        switch (duration.substring(unitStart).trim().toLowerCase(Locale.ROOT)) {
+            case "ns":
+                return Duration.ofNanos(amount);
+            case "us":
+                return Duration.ofNanos(amount * 1000);
+            case "":
+            case "ms":
+                return Duration.ofMillis(amount);
+            case "s":
+                return Duration.ofSeconds(amount);
+            case "m":
+                return Duration.ofMinutes(amount);
+            case "h":
+                return Duration.ofHours(amount);
+            case "d":
+                return Duration.ofDays(amount);
+            default:
+                throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.thing.ioc.startup;
+
+public interface StartupListener {
+    void stepFinished(StartupStep step);
+}
@@ -0,0 +1,156 @@
+package com.thing.ioc.startup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class StartupRecorder implements StartupListener {
+    private final Queue<StartupStep> steps = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void stepFinished(StartupStep step) {
+        steps.add(step);
+    }
+
+    public List<StartupStep> getSteps() {
+        List<StartupStep> result = new ArrayList<>(steps);
+        result.sort(Comparator.comparingLong(StartupStep::getStartNanos));
+        return result;
+    }
+
+    public List<StartupStep> getPhases() {
+        List<StartupStep> phases = new ArrayList<>();
+        for (StartupStep step : getSteps()) {
+            if (step.isPhase()) {
+                phases.add(step);
+            }
+        }
+        return phases;
+    }
+
+    public List<StartupStep> getBeanSteps(String beanId) {
+        List<StartupStep> beanSteps = new ArrayList<>();
+        for (StartupStep step : getSteps()) {
+            if (beanId.equals(step.getBeanId())) {
+                beanSteps.add(step);
+            }
+        }
+        return beanSteps;
+    }
+
+    public List<BeanTiming> getSlowestBeans(int limit) {
+        List<BeanTiming> timings = new ArrayList<>(getBeanTimings().values());
+        timings.sort(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed());
+        return timings.subList(0, Math.min(limit, timings.size()));
+    }
+
+    public Map<String, BeanTiming> getBeanTimings() {
+        Map<String, BeanTiming> timings = new LinkedHashMap<>();
+        for (StartupStep step : getSteps()) {
+            if (!step.isPhase()) {
+                timings.computeIfAbsent(step.getBeanId(), BeanTiming::new).add(step);
+            }
+        }
+        return timings;
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"phases\": [");
+        appendSteps(json, getPhases(), "\n    ");
+        json.append("\n  ],\n  \"beans\": [");
+        List<BeanTiming> timings = getSlowestBeans(Integer.MAX_VALUE);
+        for (int i = 0; i < timings.size(); i++) {
+            BeanTiming timing = timings.get(i);
+            json.append(i == 0 ? "\n    " : ",\n    ");
+            json.append("{\"id\": ").append(quote(timing.getBeanId()))
+                    .append(", \"selfNanos\": ").append(timing.getSelfNanos())
+                    .append(", \"selfAllocatedBytes\": ").append(timing.getSelfAllocatedBytes())
+                    .append(", \"steps\": [");
+            appendSteps(json, timing.getSteps(), "\n      ");
+            json.append("\n    ]}");
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    public void writeJson(Path path) {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Write startup report failed", e);
+        }
+    }
+
+    private void appendSteps(StringBuilder json, List<StartupStep> steps, String indent) {
+        for (int i = 0; i < steps.size(); i++) {
+            StartupStep step = steps.get(i);
+            json.append(i == 0 ? indent : "," + indent);
+            json.append("{\"name\": ").append(quote(step.getName()))
+                    .append(", \"thread\": ").append(quote(step.getThread()))
+                    .append(", \"startNanos\": ").append(step.getStartNanos())
+                    .append(", \"durationNanos\": ").append(step.getDurationNanos())
+                    .append(", \"selfNanos\": ").append(step.getSelfNanos())
+                    .append(", \"allocatedBytes\": ").append(step.getAllocatedBytes())
+                    .append(", \"selfAllocatedBytes\": ").append(step.getSelfAllocatedBytes())
+                    .append(", \"failed\": ").append(step.isFailed())
+                    .append('}');
+        }
+    }
+
+    private String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    public static class BeanTiming {
+        private final String beanId;
+        private final List<StartupStep> steps = new ArrayList<>();
+        private long selfNanos;
+        private long selfAllocatedBytes;
+
+        BeanTiming(String beanId) {
+            this.beanId = beanId;
+        }
+
+        void add(StartupStep step) {
+            steps.add(step);
+            selfNanos += step.getSelfNanos();
+            if (step.getSelfAllocatedBytes() >= 0 && selfAllocatedBytes >= 0) {
+                selfAllocatedBytes += step.getSelfAllocatedBytes();
+            } else {
+                selfAllocatedBytes = -1;
+            }
+        }
+
+        public String getBeanId() {
+            return beanId;
+        }
+
+        public List<StartupStep> getSteps() {
+            return steps;
+        }
+
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        public long getSelfAllocatedBytes() {
+            return selfAllocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.thing.ioc.startup;
+
+public class StartupStep {
+    private final String name;
+    private final String beanId;
+    private final String thread;
+    private final long startNanos;
+    private final long durationNanos;
+    private final long allocatedBytes;
+    private final boolean failed;
+    private final long selfNanos;
+    private final long selfAllocatedBytes;
+
+    public StartupStep(String name, String beanId, String thread, long startNanos, long durationNanos, long allocatedBytes) {
+        this(name, beanId, thread, startNanos, durationNanos, allocatedBytes, false);
+    }
+
+    public StartupStep(String name, String beanId, String thread, long startNanos, long durationNanos, long allocatedBytes,
+                       boolean failed) {
+        this(name, beanId, thread, startNanos, durationNanos, allocatedBytes, failed, durationNanos, allocatedBytes);
+    }
+
+    public StartupStep(String name, String beanId, String thread, long startNanos, long durationNanos, long allocatedBytes,
+                       boolean failed, long selfNanos, long selfAllocatedBytes) {
+        this.name = name;
+        this.beanId = beanId;
+        this.thread = thread;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.failed = failed;
+        this.selfNanos = selfNanos;
+        this.selfAllocatedBytes = selfAllocatedBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getBeanId() {
+        return beanId;
+    }
+
+    public boolean isPhase() {
+        return beanId == null;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public long getSelfNanos() {
+        return selfNanos;
+    }
+
+    public long getSelfAllocatedBytes() {
+        return selfAllocatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "StartupStep{" +
+                "name='" + name + '\'' +
+                ", beanId='" + beanId + '\'' +
+                ", thread='" + thread + '\'' +
+                ", durationNanos=" + durationNanos +
+                ", selfNanos=" + selfNanos +
+                ", allocatedBytes=" + allocatedBytes +
+                ", selfAllocatedBytes=" + selfAllocatedBytes +
+                ", failed=" + failed +
+                '}';
+    }
+}
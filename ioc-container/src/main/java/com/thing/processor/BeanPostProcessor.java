@@ -0,0 +1,23 @@
+package com.thing.processor;
+
+public interface BeanPostProcessor {
+    Object postProcessBeforeInitialization(Object bean, String id);
+
+    Object postProcessAfterInitialization(Object bean, String id);
+
+    default void postProcessBeforeInitialization(Object[] beans, String[] ids) {
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = postProcessBeforeInitialization(beans[i], ids[i]);
+        }
+    }
+
+    default void postProcessAfterInitialization(Object[] beans, String[] ids) {
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = postProcessAfterInitialization(beans[i], ids[i]);
+        }
+    }
+
+    default Class<?>[] getBeanTypes() {
+        return new Class<?>[]{Object.class};
+    }
+}
@@ -0,0 +1,8 @@
+package com.thing.processor;
+
+public interface Ordered {
+    int HIGHEST_PRECEDENCE = Integer.MIN_VALUE;
+    int LOWEST_PRECEDENCE = Integer.MAX_VALUE;
+
+    int getOrder();
+}
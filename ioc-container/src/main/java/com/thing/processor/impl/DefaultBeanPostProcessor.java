@@ -1,20 +1,17 @@
 package com.thing.processor.impl;
 
-import com.thing.ioc.entity.Bean;
 import com.thing.processor.BeanPostProcessor;
 
 public class DefaultBeanPostProcessor implements BeanPostProcessor {
     @Override
     public Object postProcessBeforeInitialization(Object bean, String id) {
         System.out.println("Post process before initialization finished!");
-        Bean resultBean = (Bean) bean;
-        return resultBean.getValue();
+        return bean;
     }
 
     @Override
     public Object postProcessAfterInitialization(Object bean, String id) {
         System.out.println("Post process after initialization finished!");
-        Bean resultBean = (Bean) bean;
-        return resultBean.getValue();
+        return bean;
     }
 }
@@ -2,15 +2,20 @@ package com.thing.ioc;
 
 import com.thing.service.DefaultMailService;
 import com.thing.service.DefaultUserService;
+import com.thing.service.MailService;
+import com.thing.service.UserService;
 import org.junit.Test;
 
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
-public class GenericApplicationContextITest {
-    private final GenericApplicationContext APPLICATION_CONTEXT = new GenericApplicationContext("src/main/resources/context.xml");
+public abstract class AbstractApplicationContextITest {
+    protected final ApplicationContext APPLICATION_CONTEXT = createApplicationContext();
+
+    protected abstract ApplicationContext createApplicationContext();
 
     @Test
     public void testGetBeanById() {
@@ -20,7 +25,7 @@ public class GenericApplicationContextITest {
         assertEquals("POP3", mailService.getProtocol());
 
         DefaultUserService userService = (DefaultUserService) APPLICATION_CONTEXT.getBean("userService");
-        assertNotNull(userService.getMailService());
+        assertSame(mailService, userService.getMailService());
     }
 
     @Test
@@ -34,6 +39,15 @@ public class GenericApplicationContextITest {
         assertNotNull(userService.getMailService());
     }
 
+    @Test
+    public void testGetBeanByInterface() {
+        MailService mailService = APPLICATION_CONTEXT.getBean(MailService.class);
+        assertSame(APPLICATION_CONTEXT.getBean("mailService"), mailService);
+
+        UserService userService = APPLICATION_CONTEXT.getBean("userService", UserService.class);
+        assertSame(APPLICATION_CONTEXT.getBean(DefaultUserService.class), userService);
+    }
+
     @Test
     public void testGetBeanByIdAndClass() {
         DefaultMailService mailService = APPLICATION_CONTEXT.getBean("mailService", DefaultMailService.class);
@@ -0,0 +1,35 @@
+package com.thing.ioc;
+
+import com.thing.annotation.PostConstruct;
+
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncWarmupService {
+    static volatile CompletableFuture<Void> WARMUP_GATE = CompletableFuture.completedFuture(null);
+
+    private AsyncWarmupService dependency;
+    private volatile boolean warm;
+    private boolean dependencyWarmOnInit;
+
+    @PostConstruct
+    public void checkDependency() {
+        dependencyWarmOnInit = dependency == null || dependency.isWarm();
+    }
+
+    @PostConstruct(async = true)
+    public CompletableFuture<Void> warmUp() {
+        return WARMUP_GATE.thenRun(() -> warm = true);
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public boolean isDependencyWarmOnInit() {
+        return dependencyWarmOnInit;
+    }
+
+    public void setDependency(AsyncWarmupService dependency) {
+        this.dependency = dependency;
+    }
+}
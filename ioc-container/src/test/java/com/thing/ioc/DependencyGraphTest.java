@@ -0,0 +1,77 @@
+package com.thing.ioc;
+
+import com.thing.ioc.entity.BeanDefinition;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class DependencyGraphTest {
+
+    @Test
+    public void testTopologicalOrder() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(createBeanDefinition("userService", "mailService"));
+        beanDefinitions.add(createBeanDefinition("mailService", "transport"));
+        beanDefinitions.add(createBeanDefinition("transport", "missing"));
+
+        DependencyGraph dependencyGraph = new DependencyGraph(beanDefinitions);
+        List<String> ids = new ArrayList<>();
+        for (BeanDefinition beanDefinition : dependencyGraph.getTopologicalOrder()) {
+            ids.add(beanDefinition.getId());
+        }
+
+        assertEquals(Arrays.asList("transport", "mailService", "userService"), ids);
+        assertEquals(Arrays.asList("mailService"), dependencyGraph.getDependencies("userService"));
+        assertEquals(0, dependencyGraph.getDependencies("transport").size());
+    }
+
+    @Test
+    public void testCircularReference() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(createBeanDefinition("first", "second"));
+        beanDefinitions.add(createBeanDefinition("second", "third"));
+        beanDefinitions.add(createBeanDefinition("third", "second"));
+
+        try {
+            new DependencyGraph(beanDefinitions).getTopologicalOrder();
+            fail("Circular reference should be detected");
+        } catch (RuntimeException e) {
+            assertEquals("Circular reference detected: second -> third -> second", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCycles() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(createBeanDefinition("first", "second"));
+        beanDefinitions.add(createBeanDefinition("second", "third"));
+        beanDefinitions.add(createBeanDefinition("third", "second"));
+        beanDefinitions.add(createBeanDefinition("self", "self"));
+        beanDefinitions.add(createBeanDefinition("single", "missing"));
+
+        List<List<String>> cycles = new DependencyGraph(beanDefinitions).getCycles();
+
+        assertEquals(2, cycles.size());
+        assertEquals(new HashSet<>(Arrays.asList("second", "third")), new HashSet<>(cycles.get(0)));
+        assertEquals(Arrays.asList("self"), cycles.get(1));
+    }
+
+    private BeanDefinition createBeanDefinition(String id, String ref) {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId(id);
+        beanDefinition.setClassName("com.thing.service.DefaultMailService");
+        beanDefinition.setValueDependencies(new HashMap<>());
+        Map<String, String> refDependencies = new HashMap<>();
+        refDependencies.put("dependency", ref);
+        beanDefinition.setRefDependencies(refDependencies);
+        return beanDefinition;
+    }
+}
@@ -0,0 +1,33 @@
+package com.thing.ioc;
+
+import com.thing.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DestroyRecordingService {
+    static final List<String> DESTROYED = Collections.synchronizedList(new ArrayList<>());
+
+    private String name;
+    private long destroyMillis;
+    private DestroyRecordingService dependency;
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        Thread.sleep(destroyMillis);
+        DESTROYED.add(name);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setDestroyMillis(long destroyMillis) {
+        this.destroyMillis = destroyMillis;
+    }
+
+    public void setDependency(DestroyRecordingService dependency) {
+        this.dependency = dependency;
+    }
+}
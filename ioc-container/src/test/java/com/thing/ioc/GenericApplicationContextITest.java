@@ -0,0 +1,161 @@
+package com.thing.ioc;
+
+import com.thing.ioc.io.XmlBeanDefinitionReader;
+import com.thing.ioc.metrics.LookupMetrics;
+import com.thing.ioc.startup.StartupRecorder;
+import com.thing.ioc.startup.StartupStep;
+import com.thing.service.DefaultMailService;
+import com.thing.service.DefaultUserService;
+import com.thing.service.MailService;
+import com.thing.service.UserService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GenericApplicationContextITest extends AbstractApplicationContextITest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Override
+    protected ApplicationContext createApplicationContext() {
+        return new GenericApplicationContext("src/main/resources/context.xml");
+    }
+
+    @Test
+    public void testParallelRefresh() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ContextConfiguration configuration = new ContextConfiguration();
+            configuration.setRefreshExecutor(executor);
+            GenericApplicationContext applicationContext =
+                    new GenericApplicationContext(new XmlBeanDefinitionReader("src/main/resources/context.xml"), configuration);
+
+            DefaultMailService mailService = applicationContext.getBean("mailService", DefaultMailService.class);
+            assertEquals(1099, mailService.getPort());
+            assertEquals("POP3", mailService.getProtocol());
+
+            DefaultUserService userService = applicationContext.getBean(DefaultUserService.class);
+            assertSame(mailService, userService.getMailService());
+            assertEquals(APPLICATION_CONTEXT.getBeanNames(), applicationContext.getBeanNames());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStartupReport() {
+        StartupRecorder startupRecorder = new StartupRecorder();
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setStartupListener(startupRecorder);
+        new GenericApplicationContext(new XmlBeanDefinitionReader("src/main/resources/context.xml"), configuration);
+
+        List<StartupStep> phases = startupRecorder.getPhases();
+        assertEquals("refresh", phases.get(0).getName());
+        assertEquals("readBeanDefinitions", phases.get(1).getName());
+        assertEquals("runBeanFactoryPostProcessors", phases.get(2).getName());
+        assertEquals("buildRegistry", phases.get(phases.size() - 1).getName());
+
+        List<StartupStep> userServiceSteps = startupRecorder.getBeanSteps("userService");
+        assertEquals("createBean", userServiceSteps.get(0).getName());
+        assertEquals("runPostConstructMethods", userServiceSteps.get(userServiceSteps.size() - 1).getName());
+        assertEquals(Thread.currentThread().getName(), userServiceSteps.get(0).getThread());
+        List<String> postProcessorStepNames = new ArrayList<>();
+        for (StartupStep step : startupRecorder.getBeanSteps("beanPostProcessor")) {
+            postProcessorStepNames.add(step.getName());
+        }
+        assertTrue(postProcessorStepNames.contains("postProcessBeforeInitialization"));
+        assertTrue(postProcessorStepNames.contains("postProcessAfterInitialization"));
+        assertEquals(4, startupRecorder.getBeanTimings().size());
+        assertEquals(2, startupRecorder.getSlowestBeans(2).size());
+
+        String json = startupRecorder.toJson();
+        assertTrue(json.contains("\"name\": \"runPostConstructMethods\""));
+        assertTrue(json.contains("\"id\": \"userService\""));
+    }
+
+    @Test
+    public void testLookupMetrics() throws Exception {
+        LookupMetrics lookupMetrics = new LookupMetrics();
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setLookupMetrics(lookupMetrics);
+        GenericApplicationContext applicationContext =
+                new GenericApplicationContext(new XmlBeanDefinitionReader("src/main/resources/context.xml"), configuration);
+
+        applicationContext.getBean("mailService");
+        applicationContext.getBean("mailService", MailService.class);
+        applicationContext.getBean(UserService.class);
+        try {
+            applicationContext.getBean("unknownService");
+            fail();
+        } catch (NoSuchBeanException expected) {
+        }
+        try {
+            applicationContext.getBean(Object.class);
+            fail();
+        } catch (RuntimeException expected) {
+        }
+
+        assertEquals(3, lookupMetrics.getLookupCount());
+        assertEquals(Long.valueOf(2), lookupMetrics.getLookupCountsById().get("mailService"));
+        assertEquals(Long.valueOf(1), lookupMetrics.getLookupCountsByType().get(UserService.class.getName()));
+        assertEquals(1, lookupMetrics.getMissCount());
+        assertEquals(1, lookupMetrics.getExceptionCount());
+
+        ObjectName objectName = lookupMetrics.register("testLookupMetrics");
+        try {
+            assertEquals(3L, ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "LookupCount"));
+        } finally {
+            lookupMetrics.unregister();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testWatchReloadsChangedFile() throws Exception {
+        File contextFile = temporaryFolder.newFile("context.xml");
+        writeContext(contextFile, 1099);
+        GenericApplicationContext applicationContext = new GenericApplicationContext(contextFile.getPath());
+        UserService userService = applicationContext.getBean(UserService.class);
+
+        BeanDefinitionWatcher watcher = applicationContext.watch();
+        try {
+            writeContext(contextFile, 2099);
+            while (applicationContext.getBean("mailService", DefaultMailService.class).getPort() != 2099) {
+                Thread.sleep(20);
+            }
+        } finally {
+            watcher.close();
+        }
+
+        DefaultUserService reloadedUserService = applicationContext.getBean("userService", DefaultUserService.class);
+        assertNotSame(userService, reloadedUserService);
+        assertSame(applicationContext.getBean("mailService"), reloadedUserService.getMailService());
+    }
+
+    private void writeContext(File contextFile, int port) throws Exception {
+        String context = "<beans>\n" +
+                "    <bean id=\"mailService\" class=\"com.thing.service.DefaultMailService\">\n" +
+                "        <property name=\"port\" value=\"" + port + "\"/>\n" +
+                "    </bean>\n" +
+                "    <bean id=\"userService\" class=\"com.thing.service.DefaultUserService\">\n" +
+                "        <property name=\"mailService\" ref=\"mailService\"/>\n" +
+                "    </bean>\n" +
+                "</beans>";
+        Files.write(contextFile.toPath(), context.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,1125 @@
+package com.thing.ioc;
+
+import com.thing.service.DefaultMailService;
+import com.thing.service.DefaultUserService;
+import com.thing.ioc.entity.Bean;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.entity.ConstructorArgument;
+import com.thing.ioc.event.OrderAuditor;
+import com.thing.ioc.event.OrderEvent;
+import com.thing.ioc.event.OrderMailer;
+import com.thing.ioc.event.OrderPlaced;
+import com.thing.ioc.metrics.PoolMetrics;
+import com.thing.ioc.startup.StartupRecorder;
+import com.thing.ioc.startup.StartupStep;
+import com.thing.entity.User;
+import com.thing.service.MailService;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class GenericApplicationContextTest {
+
+    @Test
+    public void testCreateBeans() {
+        BeanDefinition firstBeanDefinition = new BeanDefinition();
+        firstBeanDefinition.setId("mailService");
+        firstBeanDefinition.setClassName("com.thing.service.DefaultMailService");
+
+        BeanDefinition secondBeanDefinition = new BeanDefinition();
+        secondBeanDefinition.setId("userService");
+        secondBeanDefinition.setClassName("com.thing.service.DefaultUserService");
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(firstBeanDefinition);
+        beanDefinitions.add(secondBeanDefinition);
+
+        GenericApplicationContext genericApplicationContext = new GenericApplicationContext();
+        List<Bean> beans = genericApplicationContext.createBeans(beanDefinitions);
+
+        assertEquals(2, beans.size());
+
+        Bean firstBean = beans.get(0);
+        assertEquals("mailService", firstBean.getId());
+        String firstBeanClassName = firstBean.getValue().getClass().getName();
+        assertEquals("com.thing.service.DefaultMailService", firstBeanClassName);
+
+        Bean secondBean = beans.get(1);
+        assertEquals("userService", secondBean.getId());
+        String secondBeanClassName = secondBean.getValue().getClass().getName();
+        assertEquals("com.thing.service.DefaultUserService", secondBeanClassName);
+    }
+
+    @Test
+    public void testToProperType() {
+        GenericApplicationContext applicationContext = new GenericApplicationContext();
+
+        Object anInt = applicationContext.toProperType("123", "int");
+        assertTrue(anInt instanceof Integer);
+        assertEquals(123, anInt);
+
+        Object aByte = applicationContext.toProperType("12", "byte");
+        assertTrue(aByte instanceof Byte);
+        assertEquals((byte) 12, aByte);
+
+        Object aShort = applicationContext.toProperType("33", "short");
+        assertTrue(aShort instanceof Short);
+        assertEquals((short) 33, aShort);
+
+        Object aLong = applicationContext.toProperType("12121654", "long");
+        assertTrue(aLong instanceof Long);
+        assertEquals(12121654L, aLong);
+
+        Object aDouble = applicationContext.toProperType("121.225", "double");
+        assertTrue(aDouble instanceof Double);
+        assertEquals(121.225, aDouble);
+
+        Object aFloat = applicationContext.toProperType("1.22", "float");
+        assertTrue(aFloat instanceof Float);
+        assertEquals(1.22f, aFloat);
+
+        Object aBoolean = applicationContext.toProperType("true", "boolean");
+        assertTrue(aBoolean instanceof Boolean);
+        assertEquals(true, aBoolean);
+
+        Object aChar = applicationContext.toProperType("a", "char");
+        assertTrue(aChar instanceof Character);
+        assertEquals('a', aChar);
+
+        Object aString = applicationContext.toProperType("Some text", "java.lang.String");
+        assertTrue(aString instanceof String);
+        assertEquals("Some text", aString);
+    }
+
+    @Test
+    public void testInjectValueDependencies() {
+        Bean bean = new Bean("mailService", new DefaultMailService());
+
+        List<Bean> beans = new ArrayList<>();
+        beans.add(bean);
+
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId("mailService");
+        Map<String, String> valueDependencies = new HashMap<>();
+        valueDependencies.put("port", "2233");
+        valueDependencies.put("protocol", "GG99");
+        beanDefinition.setValueDependencies(valueDependencies);
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(beanDefinition);
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext();
+        applicationContext.injectValueDependencies(beans, beanDefinitions);
+
+        DefaultMailService mailService = (DefaultMailService) beans.get(0).getValue();
+        assertEquals(2233, mailService.getPort());
+        assertEquals("GG99", mailService.getProtocol());
+
+    }
+
+    @Test
+    public void testInjectRefDependencies(){
+        List<Bean> beans = new ArrayList<>();
+
+        Bean bean = new Bean("userService", new DefaultUserService());
+        beans.add(bean);
+
+        DefaultMailService mailService = new DefaultMailService();
+        mailService.setPort(4455);
+        mailService.setProtocol("123GT");
+        beans.add(new Bean("defaultMailService", mailService));
+
+
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId("userService");
+        Map<String, String> refDependencies = new HashMap<>();
+        refDependencies.put("mailService", "defaultMailService");
+        beanDefinition.setRefDependencies(refDependencies);
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(beanDefinition);
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext();
+        applicationContext.injectRefDependencies(beans, beanDefinitions);
+
+        DefaultUserService userService = (DefaultUserService) beans.get(0).getValue();
+        assertNotNull(userService.getMailService());
+
+        DefaultMailService resultMailService = (DefaultMailService) userService.getMailService();
+        assertEquals(4455, resultMailService.getPort());
+        assertEquals("123GT", resultMailService.getProtocol());
+    }
+
+    @Test(timeout = 10000)
+    public void testInjectDependenciesWithGeneratedDefinitions() {
+        int count = 10000;
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BeanDefinition mailServiceDefinition = new BeanDefinition();
+            mailServiceDefinition.setId("mailService" + i);
+            mailServiceDefinition.setClassName("com.thing.service.DefaultMailService");
+            Map<String, String> valueDependencies = new HashMap<>();
+            valueDependencies.put("port", String.valueOf(i));
+            valueDependencies.put("protocol", "POP3");
+            mailServiceDefinition.setValueDependencies(valueDependencies);
+            mailServiceDefinition.setRefDependencies(new HashMap<>());
+            beanDefinitions.add(mailServiceDefinition);
+
+            BeanDefinition userServiceDefinition = new BeanDefinition();
+            userServiceDefinition.setId("userService" + i);
+            userServiceDefinition.setClassName("com.thing.service.DefaultUserService");
+            userServiceDefinition.setValueDependencies(new HashMap<>());
+            Map<String, String> refDependencies = new HashMap<>();
+            refDependencies.put("mailService", "mailService" + i);
+            userServiceDefinition.setRefDependencies(refDependencies);
+            beanDefinitions.add(userServiceDefinition);
+        }
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext();
+        List<Bean> beans = applicationContext.createBeans(beanDefinitions);
+        applicationContext.injectValueDependencies(beans, beanDefinitions);
+        applicationContext.injectRefDependencies(beans, beanDefinitions);
+
+        assertEquals(2 * count, beans.size());
+        for (int i = 0; i < count; i++) {
+            DefaultMailService mailService = (DefaultMailService) beans.get(2 * i).getValue();
+            assertEquals(i, mailService.getPort());
+
+            DefaultUserService userService = (DefaultUserService) beans.get(2 * i + 1).getValue();
+            assertSame(mailService, userService.getMailService());
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testDeepRefChain() {
+        int depth = 20000;
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        List<BeanDefinition> constructorDefinitions = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            beanDefinitions.add(createCountingBeanDefinition("bean" + i, i + 1 < depth ? "bean" + (i + 1) : null));
+            BeanDefinition constructorDefinition = createCountingBeanDefinition("constructorBean" + i, null);
+            if (i + 1 < depth) {
+                constructorDefinition.setConstructorArguments(Collections.singletonList(createConstructorArgument(null, "constructorBean" + (i + 1))));
+            }
+            constructorDefinitions.add(constructorDefinition);
+        }
+        beanDefinitions.addAll(constructorDefinitions);
+
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions)) {
+            InstanceCountingService first = applicationContext.getBean("bean0", InstanceCountingService.class);
+            assertSame(applicationContext.getBean("bean1"), first.getDependency());
+            InstanceCountingService constructorFirst = applicationContext.getBean("constructorBean0", InstanceCountingService.class);
+            assertSame(applicationContext.getBean("constructorBean1"), constructorFirst.getDependency());
+        }
+
+        ContextConfiguration configuration = new ContextConfiguration();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        configuration.setRefreshExecutor(executor);
+        try (GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions, configuration)) {
+            InstanceCountingService last = applicationContext.getBean("bean" + (depth - 2), InstanceCountingService.class);
+            assertSame(applicationContext.getBean("bean" + (depth - 1)), last.getDependency());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLazyInitBeansAreCreatedOnFirstLookup() throws Exception {
+        BeanDefinition dependencyDefinition = createCountingBeanDefinition("dependency", null);
+        BeanDefinition lazyDefinition = createCountingBeanDefinition("lazy", "dependency");
+        lazyDefinition.setLazyInit(true);
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(lazyDefinition);
+        beanDefinitions.add(dependencyDefinition);
+
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setDefaultLazyInit(true);
+        InstanceCountingService.INSTANCES.set(0);
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions, configuration);
+        assertEquals(0, InstanceCountingService.INSTANCES.get());
+        assertEquals(Arrays.asList("lazy", "dependency"), applicationContext.getBeanNames());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> lookups = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                lookups.add(executor.submit(() -> applicationContext.getBean("lazy")));
+            }
+            InstanceCountingService lazy = applicationContext.getBean("lazy", InstanceCountingService.class);
+            for (Future<Object> lookup : lookups) {
+                assertSame(lazy, lookup.get());
+            }
+            assertSame(applicationContext.getBean("dependency"), lazy.getDependency());
+            assertEquals(2, InstanceCountingService.INSTANCES.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testMutuallyReferencingLazyBeansCreatedFromTwoThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 200; i++) {
+                BeanDefinition firstDefinition = createCountingBeanDefinition("first", "second");
+                firstDefinition.setLazyInit(true);
+                BeanDefinition secondDefinition = createCountingBeanDefinition("second", "first");
+                secondDefinition.setLazyInit(true);
+                GenericApplicationContext applicationContext =
+                        new GenericApplicationContext(() -> Arrays.asList(firstDefinition, secondDefinition));
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<Object> first = executor.submit(() -> {
+                    start.await();
+                    return applicationContext.getBean("first");
+                });
+                Future<Object> second = executor.submit(() -> {
+                    start.await();
+                    return applicationContext.getBean("second");
+                });
+                start.countDown();
+
+                InstanceCountingService firstBean = (InstanceCountingService) first.get(5, TimeUnit.SECONDS);
+                InstanceCountingService secondBean = (InstanceCountingService) second.get(5, TimeUnit.SECONDS);
+                assertSame(secondBean, firstBean.getDependency());
+                assertSame(firstBean, secondBean.getDependency());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedRefreshEndsStartupStepsAsFailed() {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId("mailService");
+        beanDefinition.setClassName("com.thing.service.DefaultMailService");
+        Map<String, String> valueDependencies = new HashMap<>();
+        valueDependencies.put("port", "abc");
+        beanDefinition.setValueDependencies(valueDependencies);
+
+        StartupRecorder startupRecorder = new StartupRecorder();
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setStartupListener(startupRecorder);
+        try {
+            new GenericApplicationContext(() -> Collections.singletonList(beanDefinition), configuration);
+            fail();
+        } catch (RuntimeException expected) {
+        }
+
+        Map<String, Boolean> failedPhases = new HashMap<>();
+        for (StartupStep phase : startupRecorder.getPhases()) {
+            failedPhases.put(phase.getName(), phase.isFailed());
+        }
+        assertEquals(Boolean.FALSE, failedPhases.get("readBeanDefinitions"));
+        assertEquals(Boolean.FALSE, failedPhases.get("createBeans"));
+        assertEquals(Boolean.TRUE, failedPhases.get("injectValueDependencies"));
+        assertEquals(Boolean.TRUE, failedPhases.get("refresh"));
+        List<StartupStep> beanSteps = startupRecorder.getBeanSteps("mailService");
+        StartupStep injectStep = beanSteps.get(beanSteps.size() - 1);
+        assertEquals("injectValueDependencies", injectStep.getName());
+        assertTrue(injectStep.isFailed());
+    }
+
+    @Test
+    public void testNestedBeanCreationIsExcludedFromSelfTime() {
+        BeanDefinition userServiceDefinition = createConstructorDefinition("immutableUserService",
+                createConstructorArgument(null, "mailService"));
+        BeanDefinition mailServiceDefinition = new BeanDefinition();
+        mailServiceDefinition.setId("mailService");
+        mailServiceDefinition.setClassName("com.thing.service.DefaultMailService");
+        mailServiceDefinition.setValueDependencies(new HashMap<>());
+        mailServiceDefinition.setRefDependencies(new HashMap<>());
+        mailServiceDefinition.setLazyInit(true);
+
+        StartupRecorder startupRecorder = new StartupRecorder();
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setStartupListener(startupRecorder);
+        new GenericApplicationContext(() -> Arrays.asList(userServiceDefinition, mailServiceDefinition), configuration);
+
+        StartupStep userServiceStep = startupRecorder.getBeanSteps("immutableUserService").get(0);
+        StartupStep mailServiceStep = startupRecorder.getBeanSteps("mailService").get(0);
+        assertEquals("createBean", userServiceStep.getName());
+        assertEquals("createBean", mailServiceStep.getName());
+        assertTrue(mailServiceStep.getStartNanos() >= userServiceStep.getStartNanos());
+        assertEquals(userServiceStep.getDurationNanos() - mailServiceStep.getDurationNanos(), userServiceStep.getSelfNanos());
+        assertEquals(mailServiceStep.getDurationNanos(), mailServiceStep.getSelfNanos());
+
+        long beanNanos = 0;
+        for (StartupRecorder.BeanTiming timing : startupRecorder.getBeanTimings().values()) {
+            beanNanos += timing.getSelfNanos();
+        }
+        assertTrue(beanNanos <= startupRecorder.getPhases().get(0).getDurationNanos());
+    }
+
+    @Test
+    public void testEagerBeanInitializesLazyRef() {
+        BeanDefinition lazyDefinition = createCountingBeanDefinition("lazy", null);
+        lazyDefinition.setLazyInit(true);
+        BeanDefinition eagerDefinition = createCountingBeanDefinition("eager", "lazy");
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(lazyDefinition);
+        beanDefinitions.add(eagerDefinition);
+
+        InstanceCountingService.INSTANCES.set(0);
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        assertEquals(2, InstanceCountingService.INSTANCES.get());
+
+        InstanceCountingService eager = applicationContext.getBean("eager", InstanceCountingService.class);
+        assertSame(applicationContext.getBean("lazy"), eager.getDependency());
+    }
+
+    @Test
+    public void testConstructorRefToLazyBeanSeesEagerBeansAndPostProcessors() {
+        BeanDefinition holderDefinition = createCountingBeanDefinition("holder", null);
+        ConstructorArgument lazyArgument = createConstructorArgument(null, "lazy");
+        holderDefinition.setConstructorArguments(Collections.singletonList(lazyArgument));
+        BeanDefinition lazyDefinition = createCountingBeanDefinition("lazy", "transport");
+        lazyDefinition.setLazyInit(true);
+        BeanDefinition transportDefinition = createCountingBeanDefinition("transport", null);
+        BeanDefinition recorderDefinition = createCountingBeanDefinition("recorder", null);
+        recorderDefinition.setClassName(RecordingBeanPostProcessor.class.getName());
+
+        RecordingBeanPostProcessor.PROCESSED_IDS.clear();
+        GenericApplicationContext applicationContext = new GenericApplicationContext(
+                () -> Arrays.asList(holderDefinition, lazyDefinition, transportDefinition, recorderDefinition));
+
+        InstanceCountingService holder = applicationContext.getBean("holder", InstanceCountingService.class);
+        InstanceCountingService lazy = applicationContext.getBean("lazy", InstanceCountingService.class);
+        assertSame(lazy, holder.getDependency());
+        assertSame(applicationContext.getBean("transport"), lazy.getDependency());
+        assertTrue(RecordingBeanPostProcessor.PROCESSED_IDS.contains("lazy"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testUnresolvedRefOfLazyBeanFails() {
+        BeanDefinition lazyDefinition = createCountingBeanDefinition("lazy", "missing");
+        lazyDefinition.setLazyInit(true);
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> Collections.singletonList(lazyDefinition));
+        applicationContext.getBean("lazy");
+    }
+
+    @Test
+    public void testPrototypeAndThreadScopes() throws Exception {
+        BeanDefinition prototypeDefinition = createCountingBeanDefinition("prototype", "singleton");
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        BeanDefinition threadDefinition = createCountingBeanDefinition("thread", "prototype");
+        threadDefinition.setScope(BeanDefinition.SCOPE_THREAD);
+        BeanDefinition singletonDefinition = createCountingBeanDefinition("singleton", null);
+
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(prototypeDefinition);
+        beanDefinitions.add(threadDefinition);
+        beanDefinitions.add(singletonDefinition);
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        Object singleton = applicationContext.getBean("singleton");
+
+        InstanceCountingService firstPrototype = applicationContext.getBean("prototype", InstanceCountingService.class);
+        InstanceCountingService secondPrototype = applicationContext.getBean("prototype", InstanceCountingService.class);
+        assertNotSame(firstPrototype, secondPrototype);
+        assertSame(singleton, firstPrototype.getDependency());
+        assertSame(singleton, secondPrototype.getDependency());
+
+        InstanceCountingService threadBean = applicationContext.getBean("thread", InstanceCountingService.class);
+        assertSame(threadBean, applicationContext.getBean("thread"));
+        assertNotNull(threadBean.getDependency());
+        assertSame(singleton, threadBean.getDependency().getDependency());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Object otherThreadBean = executor.submit(() -> applicationContext.getBean("thread")).get();
+            assertNotSame(threadBean, otherThreadBean);
+            assertSame(otherThreadBean, executor.submit(() -> applicationContext.getBean("thread")).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConstructorInjection() {
+        BeanDefinition userServiceDefinition = createConstructorDefinition("immutableUserService",
+                createConstructorArgument(null, "mailService"),
+                createConstructorArgument("3", null),
+                createConstructorArgument("2s", null),
+                createConstructorArgument("first, second", null));
+        BeanDefinition prototypeDefinition = createConstructorDefinition("prototypeUserService",
+                createConstructorArgument(null, "mailService"));
+        prototypeDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+        beanDefinitions.add(userServiceDefinition);
+        beanDefinitions.add(prototypeDefinition);
+        beanDefinitions.addAll(createMailDefinitions("1099"));
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        ImmutableUserService userService = applicationContext.getBean("immutableUserService", ImmutableUserService.class);
+        assertSame(applicationContext.getBean("mailService"), userService.getMailService());
+        assertEquals(3, userService.getRetries());
+        assertEquals(Duration.ofSeconds(2), userService.getTimeout());
+        assertEquals(Arrays.asList("first", "second"), userService.getRecipients());
+
+        ImmutableUserService prototype = applicationContext.getBean("prototypeUserService", ImmutableUserService.class);
+        assertNotSame(prototype, applicationContext.getBean("prototypeUserService"));
+        assertSame(applicationContext.getBean("mailService"), prototype.getMailService());
+        assertEquals(1, prototype.getRetries());
+
+        List<BeanDefinition> changedDefinitions = new ArrayList<>(beanDefinitions);
+        changedDefinitions.set(2, createMailDefinitions("2099").get(0));
+        assertEquals(Arrays.asList("immutableUserService", "prototypeUserService", "mailService", "userService"),
+                applicationContext.reload(changedDefinitions));
+        ImmutableUserService reloadedUserService = applicationContext.getBean("immutableUserService", ImmutableUserService.class);
+        assertNotSame(userService, reloadedUserService);
+        assertEquals(2099, ((DefaultMailService) reloadedUserService.getMailService()).getPort());
+    }
+
+    @Test
+    public void testLazyRefInjectsProxyResolvedOnFirstCall() {
+        List<BeanDefinition> beanDefinitions = createMailDefinitions("1099");
+        beanDefinitions.get(0).setLazyInit(true);
+        beanDefinitions.get(1).setLazyRefDependencies(Collections.singleton("mailService"));
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        MailService mailService = applicationContext.getBean(DefaultUserService.class).getMailService();
+        assertFalse(mailService instanceof DefaultMailService);
+        assertFalse(LazyReference.isResolved(mailService));
+
+        mailService.sendEmail(new User("John"), "lazy");
+        assertTrue(LazyReference.isResolved(mailService));
+        assertEquals(applicationContext.getBean("mailService").toString(), mailService.toString());
+    }
+
+    @Test
+    public void testLazyRefObjectMethodsDoNotResolveTarget() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(createMailDefinitions("1099"));
+        beanDefinitions.get(0).setLazyInit(true);
+        beanDefinitions.get(1).setLazyRefDependencies(Collections.singleton("mailService"));
+        BeanDefinition otherUserDefinition = createMailDefinitions("1099").get(1);
+        otherUserDefinition.setId("otherUserService");
+        otherUserDefinition.setLazyRefDependencies(Collections.singleton("mailService"));
+        beanDefinitions.add(otherUserDefinition);
+
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        MailService mailService = applicationContext.getBean("userService", DefaultUserService.class).getMailService();
+        MailService otherMailService = applicationContext.getBean("otherUserService", DefaultUserService.class).getMailService();
+        assertEquals(mailService, mailService);
+        assertEquals(mailService.hashCode(), otherMailService.hashCode());
+        assertEquals("LazyReference[mailService]", mailService.toString());
+        assertNotEquals(mailService, null);
+        assertFalse(LazyReference.isResolved(mailService));
+        assertFalse(LazyReference.isResolved(otherMailService));
+
+        assertEquals(mailService, otherMailService);
+        assertTrue(LazyReference.isResolved(mailService));
+        assertTrue(LazyReference.isResolved(otherMailService));
+        assertNotEquals(mailService, applicationContext.getBean("mailService"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testLazyRefRequiresInterfaceProperty() {
+        BeanDefinition dependencyDefinition = createCountingBeanDefinition("dependency", null);
+        BeanDefinition beanDefinition = createCountingBeanDefinition("bean", "dependency");
+        beanDefinition.setLazyRefDependencies(Collections.singleton("dependency"));
+        new GenericApplicationContext(() -> Arrays.asList(dependencyDefinition, beanDefinition));
+    }
+
+    @Test(timeout = 30000)
+    public void testAsyncPostConstructDelaysDependentsAndReadiness() throws Exception {
+        BeanDefinition cacheDefinition = createAsyncWarmupDefinition("cache", null);
+        BeanDefinition consumerDefinition = createAsyncWarmupDefinition("consumer", "cache");
+        BeanDefinition lazyDefinition = createCountingBeanDefinition("lazy", null);
+        lazyDefinition.setLazyInit(true);
+
+        CompletableFuture<Void> warmupGate = new CompletableFuture<>();
+        AsyncWarmupService.WARMUP_GATE = warmupGate;
+        try {
+            GenericApplicationContext applicationContext = new GenericApplicationContext(() ->
+                    Arrays.asList(consumerDefinition, cacheDefinition, lazyDefinition));
+            assertEquals(BeanStatus.INITIALIZING, applicationContext.getBeanStatus("cache"));
+            assertEquals(BeanStatus.INITIALIZING, applicationContext.getBeanStatus("consumer"));
+            assertEquals(BeanStatus.PENDING, applicationContext.getBeanStatus("lazy"));
+            assertFalse(applicationContext.awaitReady(50, TimeUnit.MILLISECONDS));
+
+            warmupGate.complete(null);
+            assertTrue(applicationContext.awaitReady(10, TimeUnit.SECONDS));
+            assertEquals(BeanStatus.READY, applicationContext.getBeanStatus("cache"));
+            assertEquals(BeanStatus.READY, applicationContext.getBeanStatus("consumer"));
+            assertTrue(applicationContext.getBean("consumer", AsyncWarmupService.class).isDependencyWarmOnInit());
+
+            applicationContext.getBean("lazy");
+            assertEquals(BeanStatus.READY, applicationContext.getBeanStatus("lazy"));
+        } finally {
+            AsyncWarmupService.WARMUP_GATE = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testAfterInitializationWaitsForDeferredPostConstruct() throws Exception {
+        BeanDefinition cacheDefinition = createAsyncWarmupDefinition("cache", null);
+        BeanDefinition consumerDefinition = createAsyncWarmupDefinition("consumer", "cache");
+        BeanDefinition recorderDefinition = createCountingBeanDefinition("recorder", null);
+        recorderDefinition.setClassName(RecordingBeanPostProcessor.class.getName());
+
+        CompletableFuture<Void> warmupGate = new CompletableFuture<>();
+        AsyncWarmupService.WARMUP_GATE = warmupGate;
+        RecordingBeanPostProcessor.INITIALIZED_BEFORE_AFTER_INITIALIZATION.clear();
+        try {
+            GenericApplicationContext applicationContext = new GenericApplicationContext(() ->
+                    Arrays.asList(consumerDefinition, cacheDefinition, recorderDefinition));
+            assertTrue(RecordingBeanPostProcessor.INITIALIZED_BEFORE_AFTER_INITIALIZATION.containsKey("cache"));
+            assertFalse(RecordingBeanPostProcessor.INITIALIZED_BEFORE_AFTER_INITIALIZATION.containsKey("consumer"));
+
+            warmupGate.complete(null);
+            assertTrue(applicationContext.awaitReady(10, TimeUnit.SECONDS));
+            assertEquals(Boolean.TRUE, RecordingBeanPostProcessor.INITIALIZED_BEFORE_AFTER_INITIALIZATION.get("consumer"));
+        } finally {
+            AsyncWarmupService.WARMUP_GATE = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testFailedAsyncPostConstruct() throws Exception {
+        CompletableFuture<Void> warmupGate = new CompletableFuture<>();
+        warmupGate.completeExceptionally(new IllegalStateException("warmup failed"));
+        AsyncWarmupService.WARMUP_GATE = warmupGate;
+        try {
+            GenericApplicationContext applicationContext = new GenericApplicationContext(() ->
+                    Collections.singletonList(createAsyncWarmupDefinition("cache", null)));
+            try {
+                applicationContext.awaitReady(10, TimeUnit.SECONDS);
+                fail();
+            } catch (RuntimeException e) {
+                assertEquals("Async initialization failed", e.getMessage());
+            }
+            assertEquals(BeanStatus.FAILED, applicationContext.getBeanStatus("cache"));
+        } finally {
+            AsyncWarmupService.WARMUP_GATE = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Test(expected = NoSuchBeanException.class)
+    public void testBeanStatusOfUnknownBean() {
+        new GenericApplicationContext(Collections::emptyList).getBeanStatus("unknown");
+    }
+
+    @Test
+    public void testChildContextResolvesBeansThroughParent() {
+        List<BeanDefinition> mailDefinitions = createMailDefinitions("1099");
+        GenericApplicationContext parentContext = new GenericApplicationContext(() ->
+                Collections.singletonList(mailDefinitions.get(0)));
+
+        BeanDefinition immutableUserServiceDefinition = createConstructorDefinition("immutableUserService",
+                createConstructorArgument(null, "mailService"));
+        GenericApplicationContext childContext = new GenericApplicationContext(parentContext, () ->
+                Arrays.asList(mailDefinitions.get(1), immutableUserServiceDefinition));
+
+        Object mailService = parentContext.getBean("mailService");
+        assertSame(parentContext, childContext.getParent());
+        assertSame(mailService, childContext.getBean("mailService"));
+        assertSame(mailService, childContext.getBean(MailService.class));
+        assertSame(mailService, childContext.getBean(DefaultUserService.class).getMailService());
+        assertSame(mailService, childContext.getBean(ImmutableUserService.class).getMailService());
+        assertEquals(Arrays.asList("userService", "immutableUserService"), childContext.getBeanNames());
+        assertEquals(BeanStatus.READY, childContext.getBeanStatus("mailService"));
+
+        try {
+            parentContext.getBean("userService");
+            fail();
+        } catch (NoSuchBeanException ignored) {
+        }
+    }
+
+    @Test
+    public void testChildContextBeanShadowsParentBean() {
+        GenericApplicationContext parentContext = new GenericApplicationContext(() -> createMailDefinitions("1099"));
+        GenericApplicationContext childContext = new GenericApplicationContext(parentContext, () ->
+                Collections.singletonList(createMailDefinitions("2099").get(0)));
+
+        assertEquals(2099, childContext.getBean("mailService", DefaultMailService.class).getPort());
+        assertEquals(1099, parentContext.getBean("mailService", DefaultMailService.class).getPort());
+        assertEquals(2099, ((DefaultMailService) childContext.getBean(MailService.class)).getPort());
+        assertSame(parentContext.getBean("userService"), childContext.getBean(DefaultUserService.class));
+    }
+
+    @Test
+    public void testParentReloadRebuildsDependentChildBeans() {
+        GenericApplicationContext parentContext = new GenericApplicationContext(() ->
+                Collections.singletonList(createMailDefinitions("1099").get(0)));
+        BeanDefinition immutableUserServiceDefinition = createConstructorDefinition("immutableUserService",
+                createConstructorArgument(null, "mailService"));
+        BeanDefinition independentDefinition = createCountingBeanDefinition("independent", null);
+        GenericApplicationContext childContext = new GenericApplicationContext(parentContext, () ->
+                Arrays.asList(createMailDefinitions("1099").get(1), immutableUserServiceDefinition, independentDefinition));
+        GenericApplicationContext shadowingContext = new GenericApplicationContext(parentContext, () ->
+                createMailDefinitions("3099"));
+        Object userService = childContext.getBean("userService");
+        Object independent = childContext.getBean("independent");
+        Object shadowingUserService = shadowingContext.getBean("userService");
+
+        parentContext.reload(Collections.singletonList(createMailDefinitions("2099").get(0)));
+
+        Object mailService = parentContext.getBean("mailService");
+        assertEquals(2099, ((DefaultMailService) mailService).getPort());
+        assertNotSame(userService, childContext.getBean("userService"));
+        assertSame(mailService, childContext.getBean(DefaultUserService.class).getMailService());
+        assertSame(mailService, childContext.getBean(ImmutableUserService.class).getMailService());
+        assertSame(independent, childContext.getBean("independent"));
+        assertSame(shadowingUserService, shadowingContext.getBean("userService"));
+        assertEquals(3099, ((DefaultMailService) shadowingContext.getBean(DefaultUserService.class).getMailService()).getPort());
+
+        childContext.close();
+        parentContext.reload(Collections.singletonList(createMailDefinitions("4099").get(0)));
+        assertTrue(childContext.isClosed());
+    }
+
+    @Test(timeout = 30000)
+    public void testCloseDestroysDependentsFirstAndIndependentBeansInParallel() {
+        List<BeanDefinition> beanDefinitions = Arrays.asList(
+                createDestroyRecordingDefinition("first", null, 0),
+                createDestroyRecordingDefinition("second", "first", 0),
+                createDestroyRecordingDefinition("third", "second", 0),
+                createDestroyRecordingDefinition("slow1", null, 500),
+                createDestroyRecordingDefinition("slow2", null, 500),
+                createDestroyRecordingDefinition("slow3", null, 500),
+                createDestroyRecordingDefinition("slow4", null, 500));
+        ContextConfiguration configuration = new ContextConfiguration();
+        ExecutorService destroyExecutor = Executors.newFixedThreadPool(4);
+        configuration.setDestroyExecutor(destroyExecutor);
+        try {
+            DestroyRecordingService.DESTROYED.clear();
+            GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions, configuration);
+
+            long start = System.nanoTime();
+            applicationContext.close();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue("Destroy took " + elapsedMillis + " ms", elapsedMillis < 1500);
+            assertEquals(7, DestroyRecordingService.DESTROYED.size());
+            List<String> destroyed = DestroyRecordingService.DESTROYED;
+            assertTrue(destroyed.indexOf("third") < destroyed.indexOf("second"));
+            assertTrue(destroyed.indexOf("second") < destroyed.indexOf("first"));
+            assertTrue(applicationContext.isClosed());
+            assertTrue(applicationContext.getBeanNames().isEmpty());
+
+            applicationContext.close();
+            assertEquals(7, DestroyRecordingService.DESTROYED.size());
+        } finally {
+            destroyExecutor.shutdown();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testReloadDestroysReplacedAndRemovedBeans() {
+        List<BeanDefinition> beanDefinitions = Arrays.asList(
+                createDestroyRecordingDefinition("first", "second", 0),
+                createDestroyRecordingDefinition("second", null, 0),
+                createDestroyRecordingDefinition("removed", null, 0),
+                createDestroyRecordingDefinition("unchanged", null, 0));
+        DestroyRecordingService.DESTROYED.clear();
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+
+        BeanDefinition changedDefinition = createDestroyRecordingDefinition("second", null, 0);
+        changedDefinition.getValueDependencies().put("destroyMillis", "1");
+        applicationContext.reload(Arrays.asList(beanDefinitions.get(0), changedDefinition, beanDefinitions.get(3)));
+
+        List<String> destroyed = DestroyRecordingService.DESTROYED;
+        assertEquals(3, destroyed.size());
+        assertTrue(destroyed.contains("removed"));
+        assertTrue(destroyed.indexOf("first") < destroyed.indexOf("second"));
+
+        applicationContext.close();
+        assertEquals(6, destroyed.size());
+        assertEquals(1, Collections.frequency(destroyed, "unchanged"));
+        assertTrue(destroyed.subList(3, 6).contains("unchanged"));
+    }
+
+    @Test(timeout = 30000)
+    public void testCloseTimesOutSlowDestroyMethod() {
+        List<BeanDefinition> beanDefinitions = Arrays.asList(
+                createDestroyRecordingDefinition("dependency", null, 0),
+                createDestroyRecordingDefinition("stuck", "dependency", 10000));
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setDestroyTimeout(Duration.ofMillis(100));
+        ExecutorService destroyExecutor = Executors.newCachedThreadPool();
+        configuration.setDestroyExecutor(destroyExecutor);
+        try {
+            DestroyRecordingService.DESTROYED.clear();
+            GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions, configuration);
+            try {
+                applicationContext.close();
+                fail();
+            } catch (RuntimeException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            assertEquals(Collections.singletonList("dependency"), DestroyRecordingService.DESTROYED);
+        } finally {
+            destroyExecutor.shutdownNow();
+        }
+    }
+
+    @Test(expected = NoSuchBeanException.class)
+    public void testClosedContextHasNoBeans() {
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> createMailDefinitions("1099"));
+        applicationContext.close();
+        applicationContext.getBean("mailService");
+    }
+
+    @Test
+    public void testPooledBeanBorrowAndReturn() {
+        PooledConnection.DESTROYED.set(0);
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() ->
+                Collections.singletonList(createPooledDefinition("connection", 1, 2, null)));
+        PoolMetrics metrics = applicationContext.getPoolMetrics("connection");
+        assertEquals(1, metrics.getSize());
+        assertEquals(1, metrics.getIdleCount());
+
+        PooledConnection first = applicationContext.borrowBean("connection", PooledConnection.class);
+        PooledConnection second = applicationContext.borrowBean("connection", PooledConnection.class);
+        assertNotSame(first, second);
+        assertEquals(2, metrics.getBorrowedCount());
+        applicationContext.returnBean("connection", first);
+        assertSame(first, applicationContext.borrowBean("connection", PooledConnection.class));
+        applicationContext.returnBean("connection", first);
+        applicationContext.returnBean("connection", second);
+
+        assertEquals(Integer.valueOf(1099), applicationContext.withBean("connection", PooledConnection.class, PooledConnection::send));
+        assertEquals(3, metrics.getHitCount());
+        assertEquals(1, metrics.getMissCount());
+        assertEquals(0, metrics.getWaitCount());
+        try {
+            applicationContext.getBean("connection");
+            fail();
+        } catch (RuntimeException ignored) {
+        }
+
+        applicationContext.close();
+        assertEquals(2, PooledConnection.DESTROYED.get());
+    }
+
+    @Test
+    public void testPooledBeanRejectsForeignAndRepeatedReturns() {
+        PooledConnection.DESTROYED.set(0);
+        BeanDefinition connectionDefinition = createPooledDefinition("connection", 0, 1, null);
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> Collections.singletonList(connectionDefinition));
+        PoolMetrics metrics = applicationContext.getPoolMetrics("connection");
+
+        PooledConnection connection = applicationContext.borrowBean("connection", PooledConnection.class);
+        applicationContext.returnBean("connection", connection);
+        try {
+            applicationContext.returnBean("connection", connection);
+            fail("Repeated return should be rejected");
+        } catch (RuntimeException ignored) {
+        }
+        try {
+            applicationContext.returnBean("connection", new PooledConnection());
+            fail("Foreign return should be rejected");
+        } catch (RuntimeException ignored) {
+        }
+        assertEquals(1, metrics.getSize());
+        assertEquals(1, metrics.getIdleCount());
+        assertSame(connection, applicationContext.borrowBean("connection", PooledConnection.class));
+
+        BeanDefinition changedDefinition = createPooledDefinition("connection", 0, 1, null);
+        changedDefinition.getValueDependencies().put("port", "2099");
+        applicationContext.reload(Collections.singletonList(changedDefinition));
+        applicationContext.returnBean("connection", connection);
+        assertEquals(1, PooledConnection.DESTROYED.get());
+        PoolMetrics reloadedMetrics = applicationContext.getPoolMetrics("connection");
+        assertEquals(0, reloadedMetrics.getSize());
+        assertEquals(0, reloadedMetrics.getIdleCount());
+        assertNotSame(connection, applicationContext.borrowBean("connection", PooledConnection.class));
+    }
+
+    @Test(timeout = 30000)
+    public void testExhaustedPoolWaitsAndTimesOut() throws Exception {
+        ContextConfiguration configuration = new ContextConfiguration();
+        configuration.setPoolBorrowTimeout(Duration.ofMillis(100));
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() ->
+                Collections.singletonList(createPooledDefinition("connection", 0, 1, null)), configuration);
+        PooledConnection connection = applicationContext.borrowBean("connection", PooledConnection.class);
+        try {
+            applicationContext.borrowBean("connection", PooledConnection.class);
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals("Timed out borrowing pooled bean: connection", e.getMessage());
+        }
+        assertEquals(1, applicationContext.getPoolMetrics("connection").getTimeoutCount());
+        applicationContext.returnBean("connection", connection);
+
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        configuration.setPoolBorrowTimeout(Duration.ofSeconds(10));
+        GenericApplicationContext contendedContext = new GenericApplicationContext(() ->
+                Collections.singletonList(createPooledDefinition("connection", 0, 2, null)), configuration);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    int sum = 0;
+                    for (int j = 0; j < 1000; j++) {
+                        sum += contendedContext.withBean("connection", PooledConnection.class, PooledConnection::send);
+                    }
+                    return sum;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(1099 * 1000), result.get());
+            }
+            PoolMetrics metrics = contendedContext.getPoolMetrics("connection");
+            assertTrue(metrics.getSize() <= 2);
+            assertEquals(threadCount * 1000, metrics.getHitCount() + metrics.getMissCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testIdlePooledBeansAreEvictedDownToMinSize() throws Exception {
+        PooledConnection.DESTROYED.set(0);
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() ->
+                Collections.singletonList(createPooledDefinition("connection", 1, 4, Duration.ofMillis(20))));
+        List<PooledConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            connections.add(applicationContext.borrowBean("connection", PooledConnection.class));
+        }
+        for (PooledConnection connection : connections) {
+            applicationContext.returnBean("connection", connection);
+        }
+
+        PoolMetrics metrics = applicationContext.getPoolMetrics("connection");
+        while (metrics.getSize() > 1) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, metrics.getEvictionCount());
+        assertEquals(3, PooledConnection.DESTROYED.get());
+        assertEquals(1, metrics.getIdleCount());
+        applicationContext.close();
+    }
+
+    @Test(timeout = 30000)
+    public void testContextRoutesEventsToListenerBeans() {
+        BeanDefinition auditorDefinition = createCountingBeanDefinition("auditor", null);
+        auditorDefinition.setClassName(OrderAuditor.class.getName());
+        BeanDefinition mailerDefinition = createCountingBeanDefinition("mailer", null);
+        mailerDefinition.setClassName(OrderMailer.class.getName());
+        mailerDefinition.setLazyInit(true);
+
+        GenericApplicationContext parentContext = new GenericApplicationContext(() -> Collections.singletonList(auditorDefinition));
+        GenericApplicationContext childContext = new GenericApplicationContext(parentContext, () -> Collections.singletonList(mailerDefinition));
+        OrderAuditor auditor = parentContext.getBean(OrderAuditor.class);
+        OrderMailer mailer = childContext.getBean(OrderMailer.class);
+
+        mailer.placeOrder(1);
+        assertEquals(Collections.singletonList(1), mailer.getMailedOrders());
+        assertEquals(1, auditor.getEvents().size());
+
+        childContext.publishEventAsync(new OrderPlaced(2));
+        assertTrue(childContext.getEventBus().flush(10, TimeUnit.SECONDS));
+        assertTrue(parentContext.getEventBus().flush(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 2), mailer.getMailedOrders());
+        assertEquals(2, auditor.getEvents().size());
+
+        parentContext.publishEvent(new OrderEvent(3));
+        assertEquals(3, auditor.getEvents().size());
+        assertEquals(2, mailer.getMailedOrders().size());
+        childContext.close();
+        parentContext.close();
+    }
+
+    @Test(timeout = 30000)
+    public void testReloadPublishesListenerInstancesToEventBus() {
+        BeanDefinition auditorDefinition = createCountingBeanDefinition("auditor", null);
+        auditorDefinition.setClassName(OrderAuditor.class.getName());
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> Collections.singletonList(auditorDefinition));
+        OrderAuditor oldAuditor = applicationContext.getBean(OrderAuditor.class);
+
+        BeanDefinition newAuditorDefinition = createCountingBeanDefinition("newAuditor", null);
+        newAuditorDefinition.setClassName(OrderAuditor.class.getName());
+        applicationContext.reload(Collections.singletonList(newAuditorDefinition));
+        OrderAuditor newAuditor = applicationContext.getBean(OrderAuditor.class);
+        assertNotSame(oldAuditor, newAuditor);
+
+        applicationContext.publishEventAsync(new OrderPlaced(1));
+        assertTrue(applicationContext.getEventBus().flush(10, TimeUnit.SECONDS));
+        assertEquals(0, oldAuditor.getEvents().size());
+        assertEquals(1, newAuditor.getEvents().size());
+        assertEquals(1, applicationContext.getEventBus().getListenerCount(OrderPlaced.class));
+        applicationContext.close();
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testCircularConstructorReferenceFails() {
+        BeanDefinition firstDefinition = createConstructorDefinition("first", createConstructorArgument(null, "second"));
+        BeanDefinition secondDefinition = createConstructorDefinition("second", createConstructorArgument(null, "first"));
+        new GenericApplicationContext(() -> Arrays.asList(firstDefinition, secondDefinition));
+    }
+
+    @Test
+    public void testReloadRebuildsChangedBeansAndDependents() {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(Arrays.asList(
+                createCountingBeanDefinition("first", null),
+                createCountingBeanDefinition("second", "first"),
+                createCountingBeanDefinition("third", null),
+                createCountingBeanDefinition("fourth", "second")));
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> beanDefinitions);
+        Object first = applicationContext.getBean("first");
+        Object second = applicationContext.getBean("second");
+        Object third = applicationContext.getBean("third");
+        Object fourth = applicationContext.getBean("fourth");
+
+        List<BeanDefinition> changedDefinitions = Arrays.asList(
+                createCountingBeanDefinition("first", null),
+                createCountingBeanDefinition("second", "third"),
+                createCountingBeanDefinition("third", null),
+                createCountingBeanDefinition("fourth", "second"),
+                createCountingBeanDefinition("fifth", "first"));
+        List<String> reloadedIds = applicationContext.reload(changedDefinitions);
+
+        assertEquals(Arrays.asList("second", "fourth", "fifth"), reloadedIds);
+        assertSame(first, applicationContext.getBean("first"));
+        assertSame(third, applicationContext.getBean("third"));
+        InstanceCountingService newSecond = applicationContext.getBean("second", InstanceCountingService.class);
+        InstanceCountingService newFourth = applicationContext.getBean("fourth", InstanceCountingService.class);
+        assertNotSame(second, newSecond);
+        assertNotSame(fourth, newFourth);
+        assertSame(third, newSecond.getDependency());
+        assertSame(newSecond, newFourth.getDependency());
+        assertSame(first, applicationContext.getBean("fifth", InstanceCountingService.class).getDependency());
+
+        assertEquals(Arrays.asList("first"), applicationContext.reload(Arrays.asList(
+                createCountingBeanDefinition("first", "third"),
+                createCountingBeanDefinition("third", null))));
+        assertEquals(Arrays.asList("first", "third"), applicationContext.getBeanNames());
+        assertSame(third, applicationContext.getBean("first", InstanceCountingService.class).getDependency());
+    }
+
+    @Test(timeout = 30000)
+    public void testConcurrentReadsDuringReload() throws Exception {
+        GenericApplicationContext applicationContext = new GenericApplicationContext(() -> createMailDefinitions("1099"));
+        int readerCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(readerCount);
+        AtomicBoolean reloading = new AtomicBoolean(true);
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int i = 0; i < readerCount; i++) {
+                readers.add(executor.submit(() -> {
+                    int reads = 0;
+                    while (reloading.get() || reads < 10000) {
+                        DefaultUserService userService = applicationContext.getBean(DefaultUserService.class);
+                        DefaultMailService mailService = (DefaultMailService) userService.getMailService();
+                        assertTrue(mailService.getPort() == 1099 || mailService.getPort() == 2099);
+                        assertEquals("POP3", mailService.getProtocol());
+                        assertNotNull(applicationContext.getBean("mailService"));
+                        assertEquals(2, applicationContext.getBeanNames().size());
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+
+            for (int i = 0; i < 200; i++) {
+                applicationContext.reload(createMailDefinitions(i % 2 == 0 ? "2099" : "1099"));
+            }
+            reloading.set(false);
+            for (Future<Integer> reader : readers) {
+                assertTrue(reader.get() >= 10000);
+            }
+        } finally {
+            reloading.set(false);
+            executor.shutdown();
+        }
+    }
+
+    private List<BeanDefinition> createMailDefinitions(String port) {
+        BeanDefinition mailServiceDefinition = new BeanDefinition();
+        mailServiceDefinition.setId("mailService");
+        mailServiceDefinition.setClassName("com.thing.service.DefaultMailService");
+        Map<String, String> valueDependencies = new HashMap<>();
+        valueDependencies.put("port", port);
+        valueDependencies.put("protocol", "POP3");
+        mailServiceDefinition.setValueDependencies(valueDependencies);
+        mailServiceDefinition.setRefDependencies(new HashMap<>());
+
+        BeanDefinition userServiceDefinition = new BeanDefinition();
+        userServiceDefinition.setId("userService");
+        userServiceDefinition.setClassName("com.thing.service.DefaultUserService");
+        userServiceDefinition.setValueDependencies(new HashMap<>());
+        Map<String, String> refDependencies = new HashMap<>();
+        refDependencies.put("mailService", "mailService");
+        userServiceDefinition.setRefDependencies(refDependencies);
+        return Arrays.asList(mailServiceDefinition, userServiceDefinition);
+    }
+
+    private BeanDefinition createDestroyRecordingDefinition(String id, String dependency, long destroyMillis) {
+        BeanDefinition beanDefinition = createCountingBeanDefinition(id, dependency);
+        beanDefinition.setClassName(DestroyRecordingService.class.getName());
+        beanDefinition.getValueDependencies().put("name", id);
+        beanDefinition.getValueDependencies().put("destroyMillis", String.valueOf(destroyMillis));
+        return beanDefinition;
+    }
+
+    private BeanDefinition createPooledDefinition(String id, int minSize, int maxSize, Duration maxIdle) {
+        BeanDefinition beanDefinition = createCountingBeanDefinition(id, null);
+        beanDefinition.setClassName(PooledConnection.class.getName());
+        beanDefinition.setScope(BeanDefinition.SCOPE_POOLED);
+        beanDefinition.setPoolMinSize(minSize);
+        beanDefinition.setPoolMaxSize(maxSize);
+        beanDefinition.setPoolMaxIdle(maxIdle);
+        beanDefinition.getValueDependencies().put("port", "1099");
+        return beanDefinition;
+    }
+
+    private BeanDefinition createAsyncWarmupDefinition(String id, String dependency) {
+        BeanDefinition beanDefinition = createCountingBeanDefinition(id, dependency);
+        beanDefinition.setClassName(AsyncWarmupService.class.getName());
+        return beanDefinition;
+    }
+
+    private BeanDefinition createCountingBeanDefinition(String id, String dependency) {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId(id);
+        beanDefinition.setClassName(InstanceCountingService.class.getName());
+        beanDefinition.setValueDependencies(new HashMap<>());
+        Map<String, String> refDependencies = new HashMap<>();
+        if (dependency != null) {
+            refDependencies.put("dependency", dependency);
+        }
+        beanDefinition.setRefDependencies(refDependencies);
+        return beanDefinition;
+    }
+
+    private BeanDefinition createConstructorDefinition(String id, ConstructorArgument... constructorArguments) {
+        BeanDefinition beanDefinition = new BeanDefinition();
+        beanDefinition.setId(id);
+        beanDefinition.setClassName(ImmutableUserService.class.getName());
+        beanDefinition.setValueDependencies(new HashMap<>());
+        beanDefinition.setRefDependencies(new HashMap<>());
+        beanDefinition.setConstructorArguments(Arrays.asList(constructorArguments));
+        return beanDefinition;
+    }
+
+    private ConstructorArgument createConstructorArgument(String value, String ref) {
+        ConstructorArgument constructorArgument = new ConstructorArgument();
+        constructorArgument.setValue(value);
+        constructorArgument.setRef(ref);
+        return constructorArgument;
+    }
+}
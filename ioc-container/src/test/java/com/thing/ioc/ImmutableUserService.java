@@ -0,0 +1,44 @@
+package com.thing.ioc;
+
+import com.thing.service.MailService;
+
+import java.time.Duration;
+import java.util.List;
+
+public class ImmutableUserService {
+    private final MailService mailService;
+    private final int retries;
+    private final Duration timeout;
+    private final List<String> recipients;
+
+    public ImmutableUserService(MailService mailService) {
+        this(mailService, 1, Duration.ZERO, null);
+    }
+
+    public ImmutableUserService(MailService mailService, int retries, Duration timeout, List<String> recipients) {
+        this.mailService = mailService;
+        this.retries = retries;
+        this.timeout = timeout;
+        this.recipients = recipients;
+    }
+
+    public ImmutableUserService(String name, int retries, Duration timeout, List<String> recipients) {
+        throw new UnsupportedOperationException("Must not be selected for a mail service ref");
+    }
+
+    public MailService getMailService() {
+        return mailService;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public List<String> getRecipients() {
+        return recipients;
+    }
+}
@@ -0,0 +1,26 @@
+package com.thing.ioc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class InstanceCountingService {
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private InstanceCountingService dependency;
+
+    public InstanceCountingService() {
+        INSTANCES.incrementAndGet();
+    }
+
+    public InstanceCountingService(InstanceCountingService dependency) {
+        this();
+        this.dependency = dependency;
+    }
+
+    public InstanceCountingService getDependency() {
+        return dependency;
+    }
+
+    public void setDependency(InstanceCountingService dependency) {
+        this.dependency = dependency;
+    }
+}
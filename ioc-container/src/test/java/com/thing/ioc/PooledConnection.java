@@ -0,0 +1,34 @@
+package com.thing.ioc;
+
+import com.thing.annotation.PreDestroy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PooledConnection {
+    static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    private final AtomicBoolean inUse = new AtomicBoolean();
+    private int port;
+
+    public int send() {
+        if (!inUse.compareAndSet(false, true)) {
+            throw new IllegalStateException("Connection used concurrently");
+        }
+        try {
+            Thread.yield();
+            return port;
+        } finally {
+            inUse.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void disconnect() {
+        DESTROYED.incrementAndGet();
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+}
@@ -0,0 +1,104 @@
+package com.thing.ioc;
+
+import com.thing.processor.BeanPostProcessor;
+import com.thing.processor.Ordered;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PostProcessorPipelineTest {
+
+    @Test
+    public void testPostProcessorsRunInOrder() {
+        List<String> calls = new ArrayList<>();
+        PostProcessorPipeline pipeline = new PostProcessorPipeline(Arrays.asList(
+                new RecordingPostProcessor("unordered", calls, Object.class),
+                new OrderedPostProcessor("second", calls, 2),
+                new OrderedPostProcessor("first", calls, 1)));
+
+        pipeline.postProcessBeforeInitialization("bean", "id");
+
+        assertEquals(Arrays.asList("first:id", "second:id", "unordered:id"), calls);
+    }
+
+    @Test
+    public void testPostProcessorSkipsUnmatchedTypes() {
+        List<String> calls = new ArrayList<>();
+        PostProcessorPipeline pipeline = new PostProcessorPipeline(Arrays.asList(
+                new RecordingPostProcessor("strings", calls, String.class)));
+
+        assertEquals(42, pipeline.postProcessAfterInitialization(42, "number"));
+        assertEquals("text!", pipeline.postProcessAfterInitialization("text", "text"));
+        assertEquals(Arrays.asList("strings:text"), calls);
+    }
+
+    @Test
+    public void testBatchReceivesOnlyMatchingBeans() {
+        List<String> calls = new ArrayList<>();
+        PostProcessorPipeline pipeline = new PostProcessorPipeline(Arrays.asList(
+                new RecordingPostProcessor("strings", calls, String.class) {
+                    @Override
+                    public void postProcessBeforeInitialization(Object[] beans, String[] ids) {
+                        calls.add("batch:" + beans.length);
+                        super.postProcessBeforeInitialization(beans, ids);
+                    }
+                }));
+
+        Object[] beans = {"first", 1, "second"};
+        pipeline.postProcessBeforeInitialization(beans, new String[]{"a", "b", "c"});
+
+        assertArrayEquals(new Object[]{"first!", 1, "second!"}, beans);
+        assertEquals(Arrays.asList("batch:2", "strings:a", "strings:c"), calls);
+    }
+
+    private static class RecordingPostProcessor implements BeanPostProcessor {
+        private final String name;
+        private final List<String> calls;
+        private final Class<?> beanType;
+
+        RecordingPostProcessor(String name, List<String> calls, Class<?> beanType) {
+            this.name = name;
+            this.calls = calls;
+            this.beanType = beanType;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String id) {
+            return record(bean, id);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String id) {
+            return record(bean, id);
+        }
+
+        private Object record(Object bean, String id) {
+            calls.add(name + ":" + id);
+            return bean instanceof String ? bean + "!" : bean;
+        }
+
+        @Override
+        public Class<?>[] getBeanTypes() {
+            return new Class<?>[]{beanType};
+        }
+    }
+
+    private static class OrderedPostProcessor extends RecordingPostProcessor implements Ordered {
+        private final int order;
+
+        OrderedPostProcessor(String name, List<String> calls, int order) {
+            super(name, calls, Object.class);
+            this.order = order;
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+}
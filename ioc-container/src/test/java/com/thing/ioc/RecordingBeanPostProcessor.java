@@ -0,0 +1,28 @@
+package com.thing.ioc;
+
+import com.thing.processor.BeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class RecordingBeanPostProcessor implements BeanPostProcessor {
+    static final List<String> PROCESSED_IDS = Collections.synchronizedList(new ArrayList<>());
+    static final Map<String, Boolean> INITIALIZED_BEFORE_AFTER_INITIALIZATION = new ConcurrentHashMap<>();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String id) {
+        PROCESSED_IDS.add(id);
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String id) {
+        if (bean instanceof AsyncWarmupService) {
+            INITIALIZED_BEFORE_AFTER_INITIALIZATION.put(id, ((AsyncWarmupService) bean).isDependencyWarmOnInit());
+        }
+        return bean;
+    }
+}
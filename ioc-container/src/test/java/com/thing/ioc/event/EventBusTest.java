@@ -0,0 +1,224 @@
+package com.thing.ioc.event;
+
+import com.thing.ioc.entity.Bean;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class EventBusTest {
+
+    @Test
+    public void testPublishRoutesByEventTypeHierarchy() {
+        OrderAuditor auditor = new OrderAuditor();
+        OrderMailer mailer = new OrderMailer();
+        EventBus eventBus = new EventBus();
+        eventBus.setListeners(Arrays.asList(new Bean("auditor", auditor), new Bean("mailer", mailer)));
+
+        eventBus.publish(new OrderPlaced(1));
+        eventBus.publish(new OrderEvent(2));
+        eventBus.publish("not an order");
+
+        assertEquals(2, auditor.getEvents().size());
+        assertEquals(Arrays.asList(1), mailer.getMailedOrders());
+        assertEquals(2, eventBus.getListenerCount(OrderPlaced.class));
+        assertEquals(1, eventBus.getListenerCount(OrderEvent.class));
+        assertEquals(0, eventBus.getListenerCount(String.class));
+    }
+
+    @Test
+    public void testListenerEventTypeIsResolvedThroughTypeHierarchy() {
+        SubInterfaceOrderListener subInterfaceListener = new SubInterfaceOrderListener();
+        OrderPlacedRecorder orderPlacedRecorder = new OrderPlacedRecorder();
+        EventBus eventBus = new EventBus();
+        eventBus.setListeners(Arrays.asList(new Bean("subInterfaceListener", subInterfaceListener),
+                new Bean("orderPlacedRecorder", orderPlacedRecorder)));
+
+        eventBus.publish(new OrderPlaced(1));
+        eventBus.publish(new OrderEvent(2));
+        eventBus.publish("not an order");
+
+        assertEquals(2, subInterfaceListener.getEvents().size());
+        assertEquals(1, orderPlacedRecorder.getEvents().size());
+        assertEquals(1, eventBus.getListenerCount(OrderEvent.class));
+        assertEquals(2, eventBus.getListenerCount(OrderPlaced.class));
+    }
+
+    @Test(timeout = 30000)
+    public void testAsyncPublishDeliversEveryEventUnderBackPressure() throws Exception {
+        OrderAuditor auditor = new OrderAuditor();
+        EventBus eventBus = new EventBus(8, 4);
+        eventBus.setListeners(Arrays.asList(new Bean("auditor", auditor)));
+        assertEquals(8, eventBus.getQueueCapacity());
+
+        int threadCount = 4;
+        int eventsPerThread = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> publishers = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                publishers.add(executor.submit(() -> {
+                    for (int j = 0; j < eventsPerThread; j++) {
+                        eventBus.publishAsync(new OrderPlaced(j));
+                    }
+                }));
+            }
+            for (Future<?> publisher : publishers) {
+                publisher.get();
+            }
+            assertTrue(eventBus.flush(10, TimeUnit.SECONDS));
+            assertEquals(threadCount * eventsPerThread, auditor.getEvents().size());
+            assertEquals(threadCount * eventsPerThread, eventBus.getDeliveredCount());
+            assertEquals(0, eventBus.getPendingCount());
+        } finally {
+            executor.shutdown();
+            eventBus.close();
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void testTryPublishAsyncRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> received = new ArrayList<>();
+        EventBus eventBus = new EventBus(2, 1);
+        eventBus.setListeners(Arrays.asList(new Bean("blocking", new BlockingListener(release, received))));
+
+        int accepted = 0;
+        while (eventBus.tryPublishAsync(accepted)) {
+            accepted++;
+            assertTrue(accepted <= 3);
+        }
+        assertTrue(accepted >= 2);
+
+        release.countDown();
+        eventBus.close();
+        assertEquals(accepted, received.size());
+        assertEquals(0, eventBus.getPendingCount());
+        try {
+            eventBus.publishAsync(42);
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals("Event bus is closed", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testEventsAcceptedWhileClosingAreDelivered() throws Exception {
+        int threadCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (int round = 0; round < 200; round++) {
+                OrderAuditor auditor = new OrderAuditor();
+                EventBus eventBus = new EventBus(64, 8);
+                eventBus.setListeners(Arrays.asList(new Bean("auditor", auditor)));
+                eventBus.publishAsync(new OrderPlaced(-1));
+                CountDownLatch started = new CountDownLatch(threadCount);
+                List<Future<Integer>> publishers = new ArrayList<>();
+                for (int i = 0; i < threadCount; i++) {
+                    publishers.add(executor.submit(() -> {
+                        int accepted = 0;
+                        started.countDown();
+                        try {
+                            while (true) {
+                                if (eventBus.tryPublishAsync(new OrderPlaced(accepted))) {
+                                    accepted++;
+                                }
+                            }
+                        } catch (RuntimeException e) {
+                            assertEquals("Event bus is closed", e.getMessage());
+                        }
+                        return accepted;
+                    }));
+                }
+                started.await();
+                eventBus.close();
+
+                int accepted = 1;
+                for (Future<Integer> publisher : publishers) {
+                    accepted += publisher.get();
+                }
+                assertTrue(eventBus.flush(10, TimeUnit.SECONDS));
+                assertEquals(accepted, auditor.getEvents().size());
+                assertEquals(0, eventBus.getPendingCount());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailingAsyncListenerDoesNotStopDispatch() {
+        OrderAuditor auditor = new OrderAuditor();
+        EventBus eventBus = new EventBus();
+        eventBus.setListeners(Arrays.asList(new Bean("failing", (ApplicationListener<OrderEvent>) event -> {
+            throw new IllegalStateException("listener failed");
+        }), new Bean("auditor", auditor)));
+
+        eventBus.publishAsync(new OrderPlaced(1));
+        eventBus.publishAsync(new OrderPlaced(2));
+        assertTrue(eventBus.flush(10, TimeUnit.SECONDS));
+        assertEquals(2, eventBus.getFailureCount());
+        assertEquals(2, auditor.getEvents().size());
+        eventBus.close();
+    }
+
+    public interface OrderListener extends ApplicationListener<OrderEvent> {
+    }
+
+    public static class SubInterfaceOrderListener implements OrderListener {
+        private final List<OrderEvent> events = new ArrayList<>();
+
+        @Override
+        public void onEvent(OrderEvent event) {
+            events.add(event);
+        }
+
+        public List<OrderEvent> getEvents() {
+            return events;
+        }
+    }
+
+    public abstract static class RecordingListener<E> implements ApplicationListener<E> {
+        private final List<E> events = new ArrayList<>();
+
+        @Override
+        public void onEvent(E event) {
+            events.add(event);
+        }
+
+        public List<E> getEvents() {
+            return events;
+        }
+    }
+
+    public static class OrderPlacedRecorder extends RecordingListener<OrderPlaced> {
+    }
+
+    public static class BlockingListener implements ApplicationListener<Integer> {
+        private final CountDownLatch release;
+        private final List<Integer> received;
+
+        public BlockingListener(CountDownLatch release, List<Integer> received) {
+            this.release = release;
+            this.received = received;
+        }
+
+        @Override
+        public void onEvent(Integer event) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.thing.ioc.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OrderAuditor implements ApplicationListener<OrderEvent> {
+    private final List<OrderEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void onEvent(OrderEvent event) {
+        events.add(event);
+    }
+
+    public List<OrderEvent> getEvents() {
+        return events;
+    }
+}
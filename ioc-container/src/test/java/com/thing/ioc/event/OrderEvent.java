@@ -0,0 +1,13 @@
+package com.thing.ioc.event;
+
+public class OrderEvent {
+    private final int orderId;
+
+    public OrderEvent(int orderId) {
+        this.orderId = orderId;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.thing.ioc.event;
+
+import com.thing.annotation.EventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class OrderMailer implements ApplicationEventPublisherAware {
+    private final List<Integer> mailedOrders = Collections.synchronizedList(new ArrayList<>());
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @EventListener
+    public void onOrderPlaced(OrderPlaced event) {
+        mailedOrders.add(event.getOrderId());
+    }
+
+    public void placeOrder(int orderId) {
+        applicationEventPublisher.publishEvent(new OrderPlaced(orderId));
+    }
+
+    public List<Integer> getMailedOrders() {
+        return mailedOrders;
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+}
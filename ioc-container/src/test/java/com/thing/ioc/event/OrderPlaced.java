@@ -0,0 +1,7 @@
+package com.thing.ioc.event;
+
+public class OrderPlaced extends OrderEvent {
+    public OrderPlaced(int orderId) {
+        super(orderId);
+    }
+}
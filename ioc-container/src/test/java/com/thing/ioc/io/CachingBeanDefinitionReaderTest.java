@@ -0,0 +1,87 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.entity.BeanDefinition;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CachingBeanDefinitionReaderTest {
+    private static final String CONTEXT = "<beans>\n" +
+            "    <bean id=\"mailService\" class=\"com.thing.service.DefaultMailService\" scope=\"pooled\"" +
+            " pool-min-size=\"1\" pool-max-size=\"4\" pool-max-idle=\"30s\">\n" +
+            "        <property name=\"port\" value=\"1099\"/>\n" +
+            "        <property name=\"protocol\" value=\"POP3\"/>\n" +
+            "    </bean>\n" +
+            "    <bean id=\"userService\" class=\"com.thing.service.DefaultUserService\" lazy-init=\"true\">\n" +
+            "        <property name=\"mailService\" ref=\"mailService\" />\n" +
+            "    </bean>\n" +
+            "    <bean id=\"immutableUserService\" class=\"com.thing.ioc.ImmutableUserService\">\n" +
+            "        <constructor-arg ref=\"mailService\"/>\n" +
+            "        <constructor-arg index=\"1\" type=\"int\" value=\"3\"/>\n" +
+            "    </bean>\n" +
+            "</beans>";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadBeanDefinitionsFromCache() throws IOException {
+        File xmlFile = temporaryFolder.newFile("context.xml");
+        Files.write(xmlFile.toPath(), CONTEXT.getBytes(StandardCharsets.UTF_8));
+        String cachePath = new File(temporaryFolder.getRoot(), "cache/context.bin").getPath();
+
+        List<BeanDefinition> xmlBeanDefinitions = new CachingBeanDefinitionReader(cachePath, xmlFile.getPath()).readBeanDefinitions();
+        BinaryBeanDefinitionReader binaryReader = new BinaryBeanDefinitionReader(cachePath);
+        assertTrue(binaryReader.isUpToDate(xmlFile.getPath()));
+
+        List<BeanDefinition> cachedBeanDefinitions = binaryReader.readBeanDefinitions();
+        assertEquals(xmlBeanDefinitions.size(), cachedBeanDefinitions.size());
+        for (int i = 0; i < xmlBeanDefinitions.size(); i++) {
+            BeanDefinition expected = xmlBeanDefinitions.get(i);
+            BeanDefinition actual = cachedBeanDefinitions.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getClassName(), actual.getClassName());
+            assertEquals(expected.getScope(), actual.getScope());
+            assertEquals(expected.getLazyInit(), actual.getLazyInit());
+            assertEquals(expected.getPoolMinSize(), actual.getPoolMinSize());
+            assertEquals(expected.getPoolMaxSize(), actual.getPoolMaxSize());
+            assertEquals(expected.getPoolMaxIdle(), actual.getPoolMaxIdle());
+            assertEquals(expected.getValueDependencies(), actual.getValueDependencies());
+            assertEquals(expected.getRefDependencies(), actual.getRefDependencies());
+            assertEquals(expected.getConstructorArguments(), actual.getConstructorArguments());
+        }
+        assertEquals(Integer.valueOf(4), cachedBeanDefinitions.get(0).getPoolMaxSize());
+        assertEquals(Duration.ofSeconds(30), cachedBeanDefinitions.get(0).getPoolMaxIdle());
+        assertNull(cachedBeanDefinitions.get(1).getPoolMaxSize());
+        assertEquals(2, cachedBeanDefinitions.get(2).getConstructorArguments().size());
+        assertEquals(Integer.valueOf(1), cachedBeanDefinitions.get(2).getConstructorArguments().get(1).getIndex());
+        assertSame(cachedBeanDefinitions.get(0).getId(), cachedBeanDefinitions.get(1).getRefDependencies().get("mailService"));
+    }
+
+    @Test
+    public void testStaleCacheFallsBackToXml() throws IOException {
+        File xmlFile = temporaryFolder.newFile("context.xml");
+        Files.write(xmlFile.toPath(), CONTEXT.getBytes(StandardCharsets.UTF_8));
+        String cachePath = new File(temporaryFolder.getRoot(), "context.bin").getPath();
+        new CachingBeanDefinitionReader(cachePath, xmlFile.getPath()).readBeanDefinitions();
+
+        Files.write(xmlFile.toPath(), CONTEXT.replace("1099", "2525").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(xmlFile.toPath(), FileTime.fromMillis(xmlFile.lastModified() + 1000));
+        assertFalse(new BinaryBeanDefinitionReader(cachePath).isUpToDate(xmlFile.getPath()));
+
+        List<BeanDefinition> beanDefinitions = new CachingBeanDefinitionReader(cachePath, xmlFile.getPath()).readBeanDefinitions();
+        assertEquals("2525", beanDefinitions.get(0).getValueDependencies().get("port"));
+        assertTrue(new BinaryBeanDefinitionReader(cachePath).isUpToDate(xmlFile.getPath()));
+        assertEquals("2525", new BinaryBeanDefinitionReader(cachePath).readBeanDefinitions().get(0).getValueDependencies().get("port"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.GenericApplicationContext;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.scan.ScannedMailService;
+import com.thing.ioc.scan.ScannedUserService;
+import com.thing.ioc.scan.tracked.InitializationTrackingComponent;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ComponentScanBeanDefinitionReaderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testScanClassPath() {
+        List<BeanDefinition> beanDefinitions = new ComponentScanBeanDefinitionReader("com.thing.ioc.scan").readBeanDefinitions();
+        assertEquals(3, beanDefinitions.size());
+        assertEquals("mailService", beanDefinitions.get(0).getId());
+        assertEquals(ScannedMailService.class.getName(), beanDefinitions.get(0).getClassName());
+        assertEquals("scannedUserService", beanDefinitions.get(1).getId());
+        assertEquals("mailService", beanDefinitions.get(1).getConstructorArguments().get(0).getRef());
+        assertEquals("initializationTrackingComponent", beanDefinitions.get(2).getId());
+        assertEquals(BeanDefinition.SCOPE_PROTOTYPE, beanDefinitions.get(2).getScope());
+        assertNull(System.getProperty(InitializationTrackingComponent.INITIALIZED_PROPERTY));
+    }
+
+    @Test
+    public void testContextFromScannedComponents() {
+        GenericApplicationContext applicationContext = new GenericApplicationContext(
+                new ComponentScanBeanDefinitionReader("com.thing.ioc.scan"));
+        ScannedUserService userService = applicationContext.getBean(ScannedUserService.class);
+        assertSame(applicationContext.getBean("mailService"), userService.getMailService());
+    }
+
+    @Test
+    public void testReadIndex() throws IOException {
+        File index = new File(temporaryFolder.getRoot(), ComponentScanBeanDefinitionReader.INDEX_LOCATION);
+        assertTrue(index.getParentFile().mkdirs());
+        assertTrue(new File(temporaryFolder.getRoot(), "com/thing/ioc/scan").mkdirs());
+        Files.write(index.toPath(), ("# generated\n" + ScannedMailService.class.getName() + "\n"
+                + "com.thing.ioc.scan.NotAComponent\n"
+                + "com.thing.service.DefaultMailService\n").getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new OwnResourcesClassLoader(temporaryFolder.getRoot().toURI().toURL(),
+                getClass().getClassLoader())) {
+            List<BeanDefinition> beanDefinitions = new ComponentScanBeanDefinitionReader(classLoader,
+                    ForkJoinPool.commonPool(), "com.thing.ioc.scan").readBeanDefinitions();
+            assertEquals(1, beanDefinitions.size());
+            assertEquals("mailService", beanDefinitions.get(0).getId());
+        }
+    }
+
+    @Test
+    public void testIndexFromOtherRootDoesNotHideScannedComponents() throws IOException {
+        File index = new File(temporaryFolder.getRoot(), ComponentScanBeanDefinitionReader.INDEX_LOCATION);
+        assertTrue(index.getParentFile().mkdirs());
+        Files.write(index.toPath(), "com.thing.service.DefaultMailService\n".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{temporaryFolder.getRoot().toURI().toURL()},
+                getClass().getClassLoader())) {
+            assertNotNull(classLoader.getResource(ComponentScanBeanDefinitionReader.INDEX_LOCATION));
+            List<BeanDefinition> beanDefinitions = new ComponentScanBeanDefinitionReader(classLoader,
+                    ForkJoinPool.commonPool(), "com.thing.ioc.scan").readBeanDefinitions();
+            assertEquals(3, beanDefinitions.size());
+            assertEquals("mailService", beanDefinitions.get(0).getId());
+            assertEquals("scannedUserService", beanDefinitions.get(1).getId());
+            assertEquals("initializationTrackingComponent", beanDefinitions.get(2).getId());
+        }
+    }
+
+    private static class OwnResourcesClassLoader extends URLClassLoader {
+        private OwnResourcesClassLoader(URL root, ClassLoader parent) {
+            super(new URL[]{root}, parent);
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            return findResources(name);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.thing.ioc.io;
+
+import com.thing.ioc.entity.BeanDefinition;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class XmlBeanDefinitionReaderTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final String CONTEXT = "<beans>\n" +
+            "    <bean id=\"defaultMailService\" class=\"com.thing.service.DefaultMailService\">\n" +
+            "        <property name=\"port\" value=\"1099\"/>\n" +
+            "        <property name=\"protocol\" value=\"POP3\"/>\n" +
+            "    </bean>\n" +
+            "\n" +
+            "    <bean id=\"userService\" class=\"com.thing.service.DefaultUserService\">\n" +
+            "        <property name=\"mailService\" ref=\"defaultMailService\" />\n" +
+            "    </bean>\n" +
+            "</beans>";
+
+    private static final String SCOPED_CONTEXT = "<beans>\n" +
+            "    <bean id=\"singletonService\" class=\"com.thing.service.DefaultMailService\"/>\n" +
+            "    <bean id=\"prototypeService\" class=\"com.thing.service.DefaultMailService\" scope=\"prototype\"/>\n" +
+            "    <bean id=\"threadService\" class=\"com.thing.service.DefaultMailService\" scope=\"thread\"/>\n" +
+            "</beans>";
+
+    private static final String LAZY_INIT_CONTEXT = "<beans>\n" +
+            "    <bean id=\"eagerService\" class=\"com.thing.service.DefaultMailService\"/>\n" +
+            "    <bean id=\"lazyService\" class=\"com.thing.service.DefaultMailService\" lazy-init=\"true\"/>\n" +
+            "    <bean id=\"explicitlyEagerService\" class=\"com.thing.service.DefaultMailService\" lazy-init=\"false\"/>\n" +
+            "</beans>";
+
+    private static final String LAZY_REF_CONTEXT = "<beans>\n" +
+            "    <bean id=\"mailService\" class=\"com.thing.service.DefaultMailService\"/>\n" +
+            "    <bean id=\"userService\" class=\"com.thing.service.DefaultUserService\">\n" +
+            "        <property name=\"mailService\" ref=\"mailService\" lazy=\"true\"/>\n" +
+            "        <property name=\"backupMailService\" ref=\"mailService\"/>\n" +
+            "    </bean>\n" +
+            "</beans>";
+
+    @Test
+    public void testGetBeanDefinitions() throws IOException, ParserConfigurationException, SAXException {
+        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader();
+
+        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(CONTEXT.getBytes())) {
+            List<BeanDefinition> beanDefinitions = beanDefinitionReader.getBeanDefinitions(inputStream);
+            assertEquals(2, beanDefinitions.size());
+
+            BeanDefinition firstBeanDefinition = beanDefinitions.get(0);
+            assertEquals("defaultMailService", firstBeanDefinition.getId());
+            assertEquals("com.thing.service.DefaultMailService", firstBeanDefinition.getClassName());
+
+            assertTrue(firstBeanDefinition.getRefDependencies().isEmpty());
+
+            Map<String, String> valueDependencies = firstBeanDefinition.getValueDependencies();
+            assertEquals(2, valueDependencies.size());
+            assertTrue(valueDependencies.containsKey("port"));
+            assertTrue(valueDependencies.containsKey("protocol"));
+            assertEquals("1099", valueDependencies.get("port"));
+            assertEquals("POP3", valueDependencies.get("protocol"));
+
+            BeanDefinition secondBeanDefinition = beanDefinitions.get(1);
+            assertEquals("userService", secondBeanDefinition.getId());
+            assertEquals("com.thing.service.DefaultUserService", secondBeanDefinition.getClassName());
+
+            assertTrue(secondBeanDefinition.getValueDependencies().isEmpty());
+
+            Map<String, String> refDependencies = secondBeanDefinition.getRefDependencies();
+            assertEquals(1, refDependencies.size());
+            assertTrue(refDependencies.containsKey("mailService"));
+            assertEquals("defaultMailService", refDependencies.get("mailService"));
+
+        }
+    }
+
+    @Test
+    public void testScopeAttribute() throws IOException, ParserConfigurationException, SAXException {
+        List<BeanDefinition> beanDefinitions = getBeanDefinitions(SCOPED_CONTEXT);
+
+        assertEquals(3, beanDefinitions.size());
+        assertEquals(BeanDefinition.SCOPE_SINGLETON, beanDefinitions.get(0).getScope());
+        assertEquals(BeanDefinition.SCOPE_PROTOTYPE, beanDefinitions.get(1).getScope());
+        assertEquals(BeanDefinition.SCOPE_THREAD, beanDefinitions.get(2).getScope());
+    }
+
+    @Test
+    public void testLazyInitAttribute() throws IOException, ParserConfigurationException, SAXException {
+        List<BeanDefinition> beanDefinitions = getBeanDefinitions(LAZY_INIT_CONTEXT);
+
+        assertEquals(3, beanDefinitions.size());
+        assertNull(beanDefinitions.get(0).getLazyInit());
+        assertTrue(beanDefinitions.get(1).getLazyInit());
+        assertFalse(beanDefinitions.get(2).getLazyInit());
+    }
+
+    @Test
+    public void testLazyRefAttribute() throws IOException, ParserConfigurationException, SAXException {
+        List<BeanDefinition> beanDefinitions = getBeanDefinitions(LAZY_REF_CONTEXT);
+
+        BeanDefinition userServiceDefinition = beanDefinitions.get(1);
+        assertEquals("mailService", userServiceDefinition.getRefDependencies().get("mailService"));
+        assertEquals("mailService", userServiceDefinition.getRefDependencies().get("backupMailService"));
+        assertTrue(userServiceDefinition.isLazyRef("mailService"));
+        assertFalse(userServiceDefinition.isLazyRef("backupMailService"));
+    }
+
+    @Test
+    public void testReadBeanDefinitionsFromSeveralFiles() throws IOException {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            File file = temporaryFolder.newFile("context" + i + ".xml");
+            String content = "<beans>\n" +
+                    "    <bean id=\"mailService" + i + "\" class=\"com.thing.service.DefaultMailService\"/>\n" +
+                    "    <bean id=\"userService" + i + "\" class=\"com.thing.service.DefaultUserService\"/>\n" +
+                    "</beans>";
+            Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+            paths.add(file.getPath());
+        }
+
+        Set<String> streamedIds = ConcurrentHashMap.newKeySet();
+        XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(paths.toArray(new String[0]));
+        List<BeanDefinition> beanDefinitions = beanDefinitionReader.readBeanDefinitions(beanDefinition -> streamedIds.add(beanDefinition.getId()));
+
+        assertEquals(16, beanDefinitions.size());
+        assertEquals(16, streamedIds.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals("mailService" + i, beanDefinitions.get(2 * i).getId());
+            assertEquals("userService" + i, beanDefinitions.get(2 * i + 1).getId());
+        }
+    }
+
+    private List<BeanDefinition> getBeanDefinitions(String context) throws IOException, ParserConfigurationException, SAXException {
+        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(context.getBytes(StandardCharsets.UTF_8))) {
+            return new XmlBeanDefinitionReader().getBeanDefinitions(inputStream);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.thing.ioc.reflection;
+
+import com.thing.service.DefaultMailService;
+import com.thing.service.DefaultUserService;
+import com.thing.service.MailService;
+import com.thing.service.UserService;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClassMetadataTest {
+
+    @Test
+    public void testForClassIsCachedPerClass() {
+        assertSame(ClassMetadata.forClass(DefaultMailService.class), ClassMetadata.forClass(DefaultMailService.class));
+        assertNotSame(ClassMetadata.forClass(DefaultMailService.class), ClassMetadata.forClass(DefaultUserService.class));
+    }
+
+    @Test
+    public void testSetters() {
+        ClassMetadata metadata = ClassMetadata.forClass(DefaultMailService.class);
+
+        PropertySetter portSetter = metadata.getSetter("port");
+        assertNotNull(portSetter);
+        assertEquals(int.class, portSetter.getType());
+
+        PropertySetter protocolSetter = metadata.getSetter("protocol");
+        assertNotNull(protocolSetter);
+        assertEquals(String.class, protocolSetter.getType());
+
+        assertNull(metadata.getSetter("host"));
+    }
+
+    @Test
+    public void testPostConstructMethods() {
+        assertEquals(1, ClassMetadata.forClass(DefaultUserService.class).getPostConstructMethods().size());
+        assertEquals("init", ClassMetadata.forClass(DefaultUserService.class).getPostConstructMethods().get(0).getName());
+        assertTrue(ClassMetadata.forClass(DefaultMailService.class).getPostConstructMethods().isEmpty());
+    }
+
+    @Test
+    public void testAssignableTypes() {
+        ClassMetadata metadata = ClassMetadata.forClass(DefaultUserService.class);
+        assertTrue(metadata.isImplementing(UserService.class));
+        assertTrue(metadata.isImplementing(Object.class));
+        assertFalse(metadata.isImplementing(MailService.class));
+    }
+
+    @Test
+    public void testNewInstanceAndInject() {
+        ClassMetadata mailServiceMetadata = ClassMetadata.forClass(DefaultMailService.class);
+        DefaultMailService mailService = (DefaultMailService) mailServiceMetadata.newInstance();
+        assertNotSame(mailService, mailServiceMetadata.newInstance());
+
+        mailServiceMetadata.getSetter("port").injectValue(mailService, "1099");
+        mailServiceMetadata.getSetter("protocol").injectValue(mailService, "POP3");
+        assertEquals(1099, mailService.getPort());
+        assertEquals("POP3", mailService.getProtocol());
+
+        mailServiceMetadata.getSetter("port").inject(mailService, 25);
+        assertEquals(25, mailService.getPort());
+
+        DefaultUserService userService = (DefaultUserService) ClassMetadata.forClass(DefaultUserService.class).newInstance();
+        ClassMetadata.forClass(DefaultUserService.class).getSetter("mailService").inject(userService, mailService);
+        assertSame(mailService, userService.getMailService());
+    }
+}
@@ -0,0 +1,106 @@
+package com.thing.ioc.reflection;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ValueConvertersTest {
+
+    @Test
+    public void testWrappersAndNumericFormats() {
+        assertEquals(255, ValueConverters.forType(Integer.class).apply("0xFF"));
+        assertEquals(-5, ValueConverters.forType(int.class).apply("-0b101"));
+        assertEquals(1_000_000L, ValueConverters.forType(long.class).apply("1_000_000"));
+        assertEquals(10, ValueConverters.forType(int.class).apply("010"));
+        assertEquals((byte) 127, ValueConverters.forType(Byte.class).apply("127"));
+        assertEquals(1.5d, ValueConverters.forType(Double.class).apply("1.5"));
+        assertEquals(Boolean.TRUE, ValueConverters.forType(boolean.class).apply("true"));
+        assertEquals(new BigDecimal("12.50"), ValueConverters.forType(BigDecimal.class).apply("12.50"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testOutOfRangeByte() {
+        ValueConverters.forType(byte.class).apply("128");
+    }
+
+    @Test
+    public void testEnumAndDuration() {
+        assertEquals(TimeUnit.SECONDS, ValueConverters.forType(TimeUnit.class).apply("SECONDS"));
+        assertEquals(TimeUnit.SECONDS, ValueConverters.forType(TimeUnit.class).apply("seconds"));
+
+        assertEquals(Duration.ofMillis(250), ValueConverters.forType(Duration.class).apply("250"));
+        assertEquals(Duration.ofSeconds(30), ValueConverters.forType(Duration.class).apply("30s"));
+        assertEquals(Duration.ofMinutes(5), ValueConverters.forType(Duration.class).apply("PT5M"));
+    }
+
+    @Test
+    public void testArrayAndCollections() throws Exception {
+        assertArrayEquals(new int[]{1, 2, 3}, (int[]) ValueConverters.forType(int[].class).apply("1, 2, 3"));
+        assertEquals(0, ((String[]) ValueConverters.forType(String[].class).apply("")).length);
+
+        ClassMetadata metadata = ClassMetadata.forClass(Settings.class);
+        Settings settings = new Settings();
+        metadata.getSetter("ports").injectValue(settings, "80, 443");
+        metadata.getSetter("units").injectValue(settings, "SECONDS,MINUTES,SECONDS");
+        metadata.getSetter("valueOfType").injectValue(settings, "2020-01-01");
+        assertEquals(Arrays.asList(80, 443), settings.ports);
+        assertEquals(new LinkedHashSet<>(Arrays.asList(TimeUnit.SECONDS, TimeUnit.MINUTES)), settings.units);
+        assertEquals(java.sql.Date.valueOf("2020-01-01"), settings.valueOfType);
+    }
+
+    @Test
+    public void testRegisteredConverter() {
+        ClassMetadata metadata = ClassMetadata.forClass(Settings.class);
+        Settings settings = new Settings();
+        ValueConverters.register(Endpoint.class, value -> new Endpoint(value.split(":")[0], Integer.parseInt(value.split(":")[1])));
+        metadata.getSetter("endpoint").injectValue(settings, "localhost:8080");
+        assertEquals("localhost", settings.endpoint.host);
+        assertEquals(8080, settings.endpoint.port);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingConverter() {
+        ValueConverters.forType(Runnable.class).apply("task");
+    }
+
+    public static class Endpoint {
+        private final String host;
+        private final int port;
+
+        public Endpoint(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+    }
+
+    public static class Settings {
+        private List<Integer> ports;
+        private Set<TimeUnit> units;
+        private java.sql.Date valueOfType;
+        private Endpoint endpoint;
+
+        public void setPorts(List<Integer> ports) {
+            this.ports = ports;
+        }
+
+        public void setUnits(Set<TimeUnit> units) {
+            this.units = units;
+        }
+
+        public void setValueOfType(java.sql.Date valueOfType) {
+            this.valueOfType = valueOfType;
+        }
+
+        public void setEndpoint(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+}
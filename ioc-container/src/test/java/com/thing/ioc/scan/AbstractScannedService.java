@@ -0,0 +1,7 @@
+package com.thing.ioc.scan;
+
+import com.thing.annotation.Component;
+
+@Component
+public abstract class AbstractScannedService {
+}
@@ -0,0 +1,4 @@
+package com.thing.ioc.scan;
+
+public class NotAComponent {
+}
@@ -0,0 +1,12 @@
+package com.thing.ioc.scan;
+
+import com.thing.annotation.Component;
+import com.thing.entity.User;
+import com.thing.service.MailService;
+
+@Component("mailService")
+public class ScannedMailService implements MailService {
+    @Override
+    public void sendEmail(User user, String massage) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.thing.ioc.scan;
+
+import com.thing.annotation.Component;
+import com.thing.service.MailService;
+
+@Component
+public class ScannedUserService {
+    private final MailService mailService;
+
+    public ScannedUserService(MailService mailService) {
+        this.mailService = mailService;
+    }
+
+    public MailService getMailService() {
+        return mailService;
+    }
+}
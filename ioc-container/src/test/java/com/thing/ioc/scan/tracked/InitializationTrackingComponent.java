@@ -0,0 +1,12 @@
+package com.thing.ioc.scan.tracked;
+
+import com.thing.annotation.Component;
+
+@Component(scope = "prototype")
+public class InitializationTrackingComponent {
+    public static final String INITIALIZED_PROPERTY = "com.thing.ioc.scan.tracked.initialized";
+
+    static {
+        System.setProperty(INITIALIZED_PROPERTY, "true");
+    }
+}
@@ -0,0 +1,83 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.Component;
+import com.thing.ioc.io.ComponentScanBeanDefinitionReader;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+@SupportedAnnotationTypes("com.thing.annotation.Component")
+public class ComponentIndexProcessor extends AbstractProcessor {
+    private final Set<String> components = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Component.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                components.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+            }
+        }
+        if (roundEnv.processingOver() && !components.isEmpty()) {
+            try {
+                readExistingIndex();
+                writeIndex();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Write component index failed: " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private void readExistingIndex() {
+        try {
+            FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    ComponentScanBeanDefinitionReader.INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(index.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#") && isComponent(line)) {
+                        components.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // no index from a previous compilation
+        }
+    }
+
+    private boolean isComponent(String binaryName) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.'));
+        return type != null && type.getAnnotation(Component.class) != null;
+    }
+
+    private void writeIndex() throws IOException {
+        FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                ComponentScanBeanDefinitionReader.INDEX_LOCATION);
+        try (Writer writer = index.openWriter()) {
+            writer.write("# Generated by " + getClass().getName() + "\n");
+            for (String component : components) {
+                writer.write(component);
+                writer.write('\n');
+            }
+        }
+    }
+}
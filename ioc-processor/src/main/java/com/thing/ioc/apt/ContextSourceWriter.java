@@ -0,0 +1,404 @@
+package com.thing.ioc.apt;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.processor.BeanFactoryPostProcessor;
+import com.thing.processor.Ordered;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.util.*;
+
+public class ContextSourceWriter {
+    private static final String POST_CONSTRUCT = "com.thing.annotation.PostConstruct";
+    private static final String BEAN_POST_PROCESSOR = "com.thing.processor.BeanPostProcessor";
+    private static final String BEAN_FACTORY_POST_PROCESSOR = "com.thing.processor.BeanFactoryPostProcessor";
+
+    private final ProcessingEnvironment processingEnv;
+    private final Elements elements;
+    private final Types types;
+    private final String packageName;
+    private final String className;
+
+    public ContextSourceWriter(ProcessingEnvironment processingEnv, String packageName, String className) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.packageName = packageName;
+        this.className = className;
+    }
+
+    public String write(List<BeanDefinition> beanDefinitions) throws GenerationException {
+        beanDefinitions = new ArrayList<>(beanDefinitions);
+        runBeanFactoryPostProcessors(beanDefinitions);
+
+        Map<String, Integer> indexesById = new HashMap<>();
+        List<TypeElement> beanTypes = new ArrayList<>();
+        for (int i = 0; i < beanDefinitions.size(); i++) {
+            BeanDefinition beanDefinition = beanDefinitions.get(i);
+            beanTypes.add(getBeanType(beanDefinition));
+            indexesById.putIfAbsent(beanDefinition.getId(), i);
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("public final class ").append(className).append(" extends com.thing.ioc.AbstractGeneratedApplicationContext {\n");
+        source.append("    public ").append(className).append("() {\n");
+
+        for (int i = 0; i < beanDefinitions.size(); i++) {
+            TypeElement beanType = beanTypes.get(i);
+            source.append("        ").append(beanType.getQualifiedName()).append(' ').append(variable(i))
+                    .append(" = new ").append(beanType.getQualifiedName()).append("();\n");
+        }
+        source.append('\n');
+
+        for (int i = 0; i < beanDefinitions.size(); i++) {
+            BeanDefinition beanDefinition = beanDefinitions.get(i);
+            for (Map.Entry<String, String> entry : beanDefinition.getValueDependencies().entrySet()) {
+                ExecutableElement setter = getSetter(beanTypes.get(i), entry.getKey(), beanDefinition);
+                if (setter != null) {
+                    TypeMirror parameterType = setter.getParameters().get(0).asType();
+                    source.append("        ").append(variable(i)).append('.').append(setter.getSimpleName())
+                            .append('(').append(toLiteral(parameterType, entry.getValue(), beanDefinition)).append(");\n");
+                }
+            }
+        }
+
+        for (int i = 0; i < beanDefinitions.size(); i++) {
+            BeanDefinition beanDefinition = beanDefinitions.get(i);
+            for (Map.Entry<String, String> entry : beanDefinition.getRefDependencies().entrySet()) {
+                ExecutableElement setter = getSetter(beanTypes.get(i), entry.getKey(), beanDefinition);
+                Integer refIndex = indexesById.get(entry.getValue());
+                if (setter == null) {
+                    continue;
+                }
+                if (refIndex == null) {
+                    warning("Bean " + beanDefinition.getId() + " refs unknown bean " + entry.getValue() + ", property is not injected");
+                    continue;
+                }
+                if (beanDefinition.isLazyRef(entry.getKey())) {
+                    warning("Bean " + beanDefinition.getId() + " has lazy ref " + entry.getKey() + ", generated contexts inject it directly");
+                }
+                TypeMirror parameterType = types.erasure(setter.getParameters().get(0).asType());
+                if (!types.isAssignable(types.erasure(beanTypes.get(refIndex).asType()), parameterType)) {
+                    throw new GenerationException("Bean " + entry.getValue() + " cannot be injected into "
+                            + beanDefinition.getId() + "." + entry.getKey() + " of type " + parameterType);
+                }
+                source.append("        ").append(variable(i)).append('.').append(setter.getSimpleName())
+                        .append('(').append(variable(refIndex)).append(");\n");
+            }
+        }
+        source.append('\n');
+
+        List<String> postProcessors = new ArrayList<>();
+        List<String> applicationIds = new ArrayList<>();
+        List<String> applicationVariables = new ArrayList<>();
+        String[] values = new String[beanDefinitions.size()];
+        for (int i = 0; i < beanTypes.size(); i++) {
+            if (isImplementing(beanTypes.get(i), BEAN_POST_PROCESSOR)) {
+                postProcessors.add(variable(i));
+            }
+            if (isSystem(beanTypes.get(i))) {
+                values[i] = variable(i);
+            } else {
+                values[i] = "values[" + applicationIds.size() + "]";
+                applicationIds.add(toStringLiteral(beanDefinitions.get(i).getId()));
+                applicationVariables.add(variable(i));
+            }
+        }
+
+        source.append("        com.thing.ioc.PostProcessorPipeline postProcessors = new com.thing.ioc.PostProcessorPipeline(")
+                .append("java.util.Arrays.<com.thing.processor.BeanPostProcessor>asList(").append(String.join(", ", postProcessors)).append("));\n");
+        source.append("        String[] ids = {").append(String.join(", ", applicationIds)).append("};\n");
+        source.append("        Object[] values = {").append(String.join(", ", applicationVariables)).append("};\n");
+        source.append("        postProcessors.postProcessBeforeInitialization(values, ids);\n");
+        for (int i = 0; i < beanDefinitions.size(); i++) {
+            TypeElement beanType = beanTypes.get(i);
+            for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(beanType))) {
+                if (isPostConstruct(method)) {
+                    if (isAsyncPostConstruct(method)) {
+                        throw new GenerationException("Async @PostConstruct method " + method.getSimpleName() + " of bean "
+                                + beanDefinitions.get(i).getId() + " is not supported by generated contexts");
+                    }
+                    source.append("        ").append(variable(i)).append('.').append(method.getSimpleName()).append("();\n");
+                }
+            }
+        }
+        source.append("        postProcessors.postProcessAfterInitialization(values, ids);\n");
+        source.append('\n');
+
+        for (int i = 0; i < beanDefinitions.size(); i++) {
+            source.append("        register(").append(toStringLiteral(beanDefinitions.get(i).getId())).append(", ")
+                    .append(values[i]).append(", ").append(isSystem(beanTypes.get(i)));
+            for (TypeElement type : getAssignableTypes(beanTypes.get(i))) {
+                source.append(", ").append(type.getQualifiedName()).append(".class");
+            }
+            source.append(");\n");
+        }
+        List<String> destroyOrder = new ArrayList<>();
+        for (String id : getDestroyOrder(beanDefinitions, indexesById)) {
+            destroyOrder.add(toStringLiteral(id));
+        }
+        source.append("        setDestroyOrder(").append(String.join(", ", destroyOrder)).append(");\n");
+        source.append("    }\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private List<String> getDestroyOrder(List<BeanDefinition> beanDefinitions, Map<String, Integer> indexesById) {
+        List<String> initializationOrder = new ArrayList<>();
+        Set<Integer> visited = new HashSet<>();
+        Deque<Integer> pendingIndexes = new ArrayDeque<>();
+        Deque<Iterator<String>> pendingRefs = new ArrayDeque<>();
+        for (int root = 0; root < beanDefinitions.size(); root++) {
+            if (indexesById.get(beanDefinitions.get(root).getId()) != root || !visited.add(root)) {
+                continue;
+            }
+            pendingIndexes.push(root);
+            pendingRefs.push(beanDefinitions.get(root).getRefDependencies().values().iterator());
+            while (!pendingIndexes.isEmpty()) {
+                Iterator<String> refs = pendingRefs.peek();
+                if (refs.hasNext()) {
+                    Integer refIndex = indexesById.get(refs.next());
+                    if (refIndex != null && visited.add(refIndex)) {
+                        pendingIndexes.push(refIndex);
+                        pendingRefs.push(beanDefinitions.get(refIndex).getRefDependencies().values().iterator());
+                    }
+                } else {
+                    pendingRefs.pop();
+                    initializationOrder.add(beanDefinitions.get(pendingIndexes.pop()).getId());
+                }
+            }
+        }
+        Collections.reverse(initializationOrder);
+        return initializationOrder;
+    }
+
+    private void runBeanFactoryPostProcessors(List<BeanDefinition> beanDefinitions) throws GenerationException {
+        List<BeanFactoryPostProcessor> beanFactoryPostProcessors = new ArrayList<>();
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            TypeElement beanType = elements.getTypeElement(beanDefinition.getClassName().replace('$', '.'));
+            if (beanType != null && isImplementing(beanType, BEAN_FACTORY_POST_PROCESSOR)) {
+                beanFactoryPostProcessors.add(newBeanFactoryPostProcessor(beanDefinition));
+            }
+        }
+        beanFactoryPostProcessors.sort(Comparator.comparingInt(postProcessor -> postProcessor instanceof Ordered
+                ? ((Ordered) postProcessor).getOrder() : Ordered.LOWEST_PRECEDENCE));
+
+        for (BeanFactoryPostProcessor beanFactoryPostProcessor : beanFactoryPostProcessors) {
+            try {
+                beanFactoryPostProcessor.postProcessBeanFactory(beanDefinitions);
+            } catch (RuntimeException e) {
+                throw new GenerationException("Bean factory post processor " + beanFactoryPostProcessor.getClass().getName()
+                        + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private BeanFactoryPostProcessor newBeanFactoryPostProcessor(BeanDefinition beanDefinition) throws GenerationException {
+        try {
+            Class<?> clazz = Class.forName(beanDefinition.getClassName(), true, getClass().getClassLoader());
+            return (BeanFactoryPostProcessor) clazz.getConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new GenerationException("Bean factory post processor " + beanDefinition.getId()
+                    + " must be compiled before the generated context, class not found: " + beanDefinition.getClassName());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new GenerationException("Bean factory post processor " + beanDefinition.getId()
+                    + " cannot be instantiated: " + e);
+        }
+    }
+
+    private TypeElement getBeanType(BeanDefinition beanDefinition) throws GenerationException {
+        if (beanDefinition.getScope() != null && !BeanDefinition.SCOPE_SINGLETON.equals(beanDefinition.getScope())) {
+            throw new GenerationException("Scope " + beanDefinition.getScope() + " of bean " + beanDefinition.getId()
+                    + " is not supported by generated contexts");
+        }
+        if (beanDefinition.hasConstructorArguments()) {
+            throw new GenerationException("Constructor arguments of bean " + beanDefinition.getId()
+                    + " are not supported by generated contexts");
+        }
+        if (Boolean.TRUE.equals(beanDefinition.getLazyInit())) {
+            throw new GenerationException("Lazy-init bean " + beanDefinition.getId()
+                    + " is not supported by generated contexts");
+        }
+
+        TypeElement beanType = elements.getTypeElement(beanDefinition.getClassName().replace('$', '.'));
+        if (beanType == null) {
+            throw new GenerationException("Bean class not found: " + beanDefinition.getClassName());
+        }
+        if (!beanType.getModifiers().contains(Modifier.PUBLIC) || beanType.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new GenerationException("Bean class must be public and concrete: " + beanDefinition.getClassName());
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(beanType.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty()) {
+                return beanType;
+            }
+        }
+        throw new GenerationException("Bean class has no public no-arg constructor: " + beanDefinition.getClassName());
+    }
+
+    private ExecutableElement getSetter(TypeElement beanType, String propertyName, BeanDefinition beanDefinition) {
+        String setterName = "set" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(beanType))) {
+            if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1
+                    && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+                return method;
+            }
+        }
+        warning("Bean " + beanDefinition.getId() + " has no setter for property " + propertyName + ", property is not injected");
+        return null;
+    }
+
+    private boolean isPostConstruct(ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || !method.getParameters().isEmpty()) {
+            return false;
+        }
+        return getPostConstruct(method) != null;
+    }
+
+    private boolean isAsyncPostConstruct(ExecutableElement method) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : elements.getElementValuesWithDefaults(getPostConstruct(method)).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("async")) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror getPostConstruct(ExecutableElement method) {
+        TypeElement annotation = elements.getTypeElement(POST_CONSTRUCT);
+        for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+            if (types.isSameType(mirror.getAnnotationType(), annotation.asType())) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSystem(TypeElement beanType) {
+        return isImplementing(beanType, BEAN_POST_PROCESSOR) || isImplementing(beanType, BEAN_FACTORY_POST_PROCESSOR);
+    }
+
+    private boolean isImplementing(TypeElement beanType, String interfaceName) {
+        TypeElement implemented = elements.getTypeElement(interfaceName);
+        return implemented != null && types.isAssignable(types.erasure(beanType.asType()), types.erasure(implemented.asType()));
+    }
+
+    private Set<TypeElement> getAssignableTypes(TypeElement beanType) {
+        Set<TypeElement> assignableTypes = new LinkedHashSet<>();
+        collectAssignableTypes(beanType.asType(), assignableTypes);
+        return assignableTypes;
+    }
+
+    private void collectAssignableTypes(TypeMirror type, Set<TypeElement> assignableTypes) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        if (typeElement.getModifiers().contains(Modifier.PUBLIC) && !assignableTypes.add(typeElement)) {
+            return;
+        }
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            collectAssignableTypes(supertype, assignableTypes);
+        }
+    }
+
+    private String toLiteral(TypeMirror type, String value, BeanDefinition beanDefinition) throws GenerationException {
+        try {
+            switch (type.getKind()) {
+                case INT:
+                    return String.valueOf(Integer.parseInt(value));
+                case LONG:
+                    return Long.parseLong(value) + "L";
+                case SHORT:
+                    return "(short) " + Short.parseShort(value);
+                case BYTE:
+                    return "(byte) " + Byte.parseByte(value);
+                case BOOLEAN:
+                    return String.valueOf(Boolean.parseBoolean(value));
+                case DOUBLE:
+                    return toDoubleLiteral(Double.parseDouble(value));
+                case FLOAT:
+                    return toFloatLiteral(Float.parseFloat(value));
+                case CHAR:
+                    if (value.length() != 1) {
+                        throw new GenerationException("Too much symbols in char value of bean " + beanDefinition.getId());
+                    }
+                    return "'" + escape(value, '\'') + "'";
+                default:
+                    TypeElement string = elements.getTypeElement(String.class.getName());
+                    if (types.isAssignable(string.asType(), types.erasure(type))) {
+                        return toStringLiteral(value);
+                    }
+                    throw new GenerationException("Value of type " + type + " is not supported for bean " + beanDefinition.getId());
+            }
+        } catch (NumberFormatException e) {
+            throw new GenerationException("Invalid " + type + " value '" + value + "' for bean " + beanDefinition.getId());
+        }
+    }
+
+    private String toDoubleLiteral(double value) {
+        if (Double.isNaN(value)) {
+            return "Double.NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return Double.toString(value) + "d";
+    }
+
+    private String toFloatLiteral(float value) {
+        if (Float.isNaN(value)) {
+            return "Float.NaN";
+        }
+        if (Float.isInfinite(value)) {
+            return value > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY";
+        }
+        return Float.toString(value) + "f";
+    }
+
+    private String toStringLiteral(String value) {
+        return value == null ? "null" : "\"" + escape(value, '"') + "\"";
+    }
+
+    private String escape(String value, char quote) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c == quote || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else if (c == '\r') {
+                escaped.append("\\r");
+            } else if (c == '\t') {
+                escaped.append("\\t");
+            } else if (c < 0x20 || c > 0x7e) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private String variable(int index) {
+        return "bean" + index;
+    }
+
+    private void warning(String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message);
+    }
+}
@@ -0,0 +1,77 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.GeneratedContext;
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.io.XmlBeanDefinitionReader;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+@SupportedAnnotationTypes("com.thing.annotation.GeneratedContext")
+@SupportedOptions(GeneratedContextProcessor.BASEDIR_OPTION)
+public class GeneratedContextProcessor extends AbstractProcessor {
+    static final String BASEDIR_OPTION = "ioc.basedir";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GeneratedContext.class)) {
+            TypeElement contextType = (TypeElement) element;
+            try {
+                generate(contextType, contextType.getAnnotation(GeneratedContext.class));
+            } catch (GenerationException | IOException | RuntimeException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Generate application context failed: " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement contextType, GeneratedContext generatedContext) throws GenerationException, IOException {
+        String[] paths = resolvePaths(generatedContext.value());
+        List<BeanDefinition> beanDefinitions = new XmlBeanDefinitionReader(paths).readBeanDefinitions();
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(contextType);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = generatedContext.className().isEmpty()
+                ? "Generated" + contextType.getSimpleName()
+                : generatedContext.className();
+
+        ContextSourceWriter sourceWriter = new ContextSourceWriter(processingEnv, packageName, className);
+        String source = sourceWriter.write(beanDefinitions);
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, contextType);
+        try (Writer writer = sourceFile.openWriter()) {
+            writer.write(source);
+        }
+    }
+
+    private String[] resolvePaths(String[] locations) {
+        String basedir = processingEnv.getOptions().get(BASEDIR_OPTION);
+        Path base = Paths.get(basedir == null ? "" : basedir).toAbsolutePath();
+        String[] paths = new String[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            paths[i] = base.resolve(locations[i]).normalize().toString();
+        }
+        return paths;
+    }
+}
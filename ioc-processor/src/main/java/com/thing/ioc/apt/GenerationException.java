@@ -0,0 +1,7 @@
+package com.thing.ioc.apt;
+
+public class GenerationException extends Exception {
+    public GenerationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.thing.ioc.apt;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.ioc.io.ComponentScanBeanDefinitionReader;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ComponentIndexITest {
+
+    @Test
+    public void testIndexIsGeneratedAndRead() {
+        assertNotNull(getClass().getClassLoader().getResource(ComponentScanBeanDefinitionReader.INDEX_LOCATION));
+
+        List<BeanDefinition> beanDefinitions = new ComponentScanBeanDefinitionReader("com.thing.ioc.apt").readBeanDefinitions();
+        assertEquals(1, beanDefinitions.size());
+        assertEquals("indexedMailService", beanDefinitions.get(0).getId());
+        assertEquals(IndexedMailService.class.getName(), beanDefinitions.get(0).getClassName());
+    }
+}
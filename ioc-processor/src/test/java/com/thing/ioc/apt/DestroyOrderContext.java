@@ -0,0 +1,7 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.GeneratedContext;
+
+@GeneratedContext("src/test/resources/destroy-order-context.xml")
+public interface DestroyOrderContext {
+}
@@ -0,0 +1,27 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class DestroyRecordingBean {
+    static final List<String> DESTROYED = Collections.synchronizedList(new ArrayList<>());
+
+    private String name;
+    private DestroyRecordingBean dependency;
+
+    @PreDestroy
+    public void destroy() {
+        DESTROYED.add(name);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public void setDependency(DestroyRecordingBean dependency) {
+        this.dependency = dependency;
+    }
+}
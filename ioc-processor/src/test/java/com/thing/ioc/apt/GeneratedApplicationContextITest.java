@@ -0,0 +1,33 @@
+package com.thing.ioc.apt;
+
+import com.thing.ioc.AbstractApplicationContextITest;
+import com.thing.ioc.ApplicationContext;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GeneratedApplicationContextITest extends AbstractApplicationContextITest {
+
+    @Override
+    protected ApplicationContext createApplicationContext() {
+        return new GeneratedTestContext();
+    }
+
+    @Test
+    public void testPostConstructRunsOnBeanReplacedBeforeInitialization() {
+        InitRecordingBean.INITIALIZED.clear();
+        ApplicationContext applicationContext = new GeneratedPostConstructContext();
+        assertSame(ReplacingBeanPostProcessor.REPLACEMENT, applicationContext.getBean("initRecordingBean"));
+        assertEquals(Arrays.asList("initRecordingBean"), InitRecordingBean.INITIALIZED);
+    }
+
+    @Test
+    public void testCloseDestroysDependentsFirst() {
+        DestroyRecordingBean.DESTROYED.clear();
+        new GeneratedDestroyOrderContext().close();
+        assertEquals(Arrays.asList("controller", "service", "repository"), DestroyRecordingBean.DESTROYED);
+    }
+}
@@ -0,0 +1,125 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.GeneratedContext;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GeneratedContextProcessorTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private File generatedFolder;
+
+    @Test
+    public void testAsyncPostConstructIsRejected() throws Exception {
+        writeFile("context.xml", "<beans><bean id=\"cache\" class=\"AsyncCache\"/></beans>");
+        writeFile("AsyncCache.java", "public class AsyncCache {\n"
+                + "    @com.thing.annotation.PostConstruct(async = true)\n"
+                + "    public java.util.concurrent.CompletableFuture<Void> warmUp() {\n"
+                + "        return java.util.concurrent.CompletableFuture.completedFuture(null);\n"
+                + "    }\n"
+                + "}\n");
+
+        List<String> errors = generate("AsyncCache.java");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("Async @PostConstruct method warmUp of bean cache is not supported"));
+    }
+
+    @Test
+    public void testLazyInitBeanIsRejected() throws Exception {
+        writeFile("context.xml", "<beans><bean id=\"mailService\" class=\"com.thing.service.DefaultMailService\" lazy-init=\"true\"/></beans>");
+
+        List<String> errors = generate();
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("Lazy-init bean mailService is not supported by generated contexts"));
+    }
+
+    @Test
+    public void testBeanFactoryPostProcessorRunsAtGenerationTime() throws Exception {
+        writeFile("context.xml", "<beans>"
+                + "<bean id=\"mailService\" class=\"com.thing.service.DefaultMailService\"><property name=\"port\" value=\"1099\"/></bean>"
+                + "<bean id=\"portOverrider\" class=\"" + PortOverridingBeanFactoryPostProcessor.class.getName() + "\"/>"
+                + "</beans>");
+
+        assertEquals(Collections.emptyList(), generate());
+
+        String source = new String(Files.readAllBytes(new File(generatedFolder, "GeneratedContext.java").toPath()), StandardCharsets.UTF_8);
+        assertTrue(source, source.contains("bean0.setPort(2525);"));
+        assertFalse(source, source.contains("postProcessBeanFactory"));
+    }
+
+    @Test
+    public void testUncompiledBeanFactoryPostProcessorIsRejected() throws Exception {
+        writeFile("context.xml", "<beans><bean id=\"sourceProcessor\" class=\"SourceProcessor\"/></beans>");
+        writeFile("SourceProcessor.java", "public class SourceProcessor implements com.thing.processor.BeanFactoryPostProcessor {\n"
+                + "    public void postProcessBeanFactory(java.util.List<com.thing.ioc.entity.BeanDefinition> beanDefinitions) {\n"
+                + "    }\n"
+                + "}\n");
+
+        List<String> errors = generate("SourceProcessor.java");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).contains("Bean factory post processor sourceProcessor must be compiled before the generated context"));
+    }
+
+    private List<String> generate(String... sources) throws IOException, URISyntaxException {
+        writeFile("Context.java", "@com.thing.annotation.GeneratedContext(\"context.xml\")\npublic interface Context {\n}\n");
+        List<File> sourceFiles = new ArrayList<>();
+        sourceFiles.add(new File(temporaryFolder.getRoot(), "Context.java"));
+        for (String source : sources) {
+            sourceFiles.add(new File(temporaryFolder.getRoot(), source));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            String classPath = getLocation(GeneratedContext.class) + File.pathSeparator + getLocation(GeneratedContextProcessor.class)
+                    + File.pathSeparator + getLocation(PortOverridingBeanFactoryPostProcessor.class);
+            generatedFolder = temporaryFolder.newFolder("generated");
+            List<String> options = Arrays.asList("-proc:only", "-classpath", classPath,
+                    "-processor", GeneratedContextProcessor.class.getName(),
+                    "-s", generatedFolder.getPath(),
+                    "-A" + GeneratedContextProcessor.BASEDIR_OPTION + "=" + temporaryFolder.getRoot().getPath());
+            compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call();
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        return errors;
+    }
+
+    private void writeFile(String name, String content) throws IOException {
+        Files.write(new File(temporaryFolder.getRoot(), name).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String getLocation(Class<?> clazz) throws URISyntaxException {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    }
+}
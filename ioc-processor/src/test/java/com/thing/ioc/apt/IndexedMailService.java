@@ -0,0 +1,12 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.Component;
+import com.thing.entity.User;
+import com.thing.service.MailService;
+
+@Component
+public class IndexedMailService implements MailService {
+    @Override
+    public void sendEmail(User user, String massage) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.PostConstruct;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class InitRecordingBean {
+    static final List<String> INITIALIZED = Collections.synchronizedList(new ArrayList<>());
+
+    private String name;
+
+    @PostConstruct
+    public void init() {
+        INITIALIZED.add(name);
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,17 @@
+package com.thing.ioc.apt;
+
+import com.thing.ioc.entity.BeanDefinition;
+import com.thing.processor.BeanFactoryPostProcessor;
+
+import java.util.List;
+
+public class PortOverridingBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+    @Override
+    public void postProcessBeanFactory(List<BeanDefinition> beanDefinitions) {
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            if (beanDefinition.getValueDependencies().containsKey("port")) {
+                beanDefinition.getValueDependencies().put("port", "2525");
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.thing.ioc.apt;
+
+import com.thing.processor.BeanPostProcessor;
+
+public class ReplacingBeanPostProcessor implements BeanPostProcessor {
+    static final Object REPLACEMENT = new Object();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String id) {
+        return bean instanceof InitRecordingBean ? REPLACEMENT : bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String id) {
+        return bean;
+    }
+}
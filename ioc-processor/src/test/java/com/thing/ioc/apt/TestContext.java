@@ -0,0 +1,7 @@
+package com.thing.ioc.apt;
+
+import com.thing.annotation.GeneratedContext;
+
+@GeneratedContext("../ioc-container/src/main/resources/context.xml")
+public interface TestContext {
+}